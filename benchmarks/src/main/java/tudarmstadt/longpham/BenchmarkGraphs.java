@@ -0,0 +1,28 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+//Seeded input graphs of the benchmarks, named "sparse-<vertices>" or "dense-<vertices>".
+//Sparse graphs have an average degree of 8, dense graphs contain half of all possible edges.
+final class BenchmarkGraphs {
+	static final long SEED = 42L;
+	static final int SPARSE_DEGREE = 8;
+
+	private BenchmarkGraphs() {
+	}
+
+	static CsrGraph create(String spec) {
+		int n = vertexCount(spec);
+		long m = spec.startsWith("dense-") ? (long) n * (n - 1) / 4 : (long) n * SPARSE_DEGREE / 2;
+		return new GraphGenerator(GraphModel.SPANNING_TREE, n, m, SEED).generate();
+	}
+
+	static int vertexCount(String spec) {
+		return Integer.parseInt(spec.substring(spec.indexOf('-') + 1));
+	}
+}
@@ -0,0 +1,30 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+//Entry point of benchmarks.jar. It accepts the usual JMH command line, but writes the results
+//as JSON to jmh-result.json unless -rf/-rff say otherwise, so that runs of different releases can be compared.
+public class BenchmarkRunner {
+	private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+	public static void main(String[] args) throws Exception {
+		CommandLineOptions commandLine = new CommandLineOptions(args);
+		ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+		if(!commandLine.getResultFormat().hasValue())
+			options.resultFormat(ResultFormatType.JSON);
+		if(!commandLine.getResult().hasValue())
+			options.result(DEFAULT_RESULT_FILE);
+		new Runner(options.build()).run();
+	}
+}
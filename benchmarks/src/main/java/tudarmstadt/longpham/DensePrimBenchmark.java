@@ -0,0 +1,50 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+//Full MST runs of the queue-less DensePrimEngine. It costs O(V^2) on any graph, so the large sparse graphs
+//of MSTBenchmark (10^10 and more steps per run) are left out. Compare with MSTBenchmark on the same graphs.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DensePrimBenchmark {
+
+	@Param({"sparse-10", "sparse-1000", "dense-10", "dense-1000", "dense-3000"})
+	public String graph;
+
+	private CsrGraph input;
+	private MSTEngine mst;
+
+	@Setup
+	public void setUp() {
+		input = BenchmarkGraphs.create(graph);
+		mst = new DensePrimEngine();
+	}
+
+	@Benchmark
+	public long findMST() {
+		return mst.findMST(input, 0).totalWeight();
+	}
+}
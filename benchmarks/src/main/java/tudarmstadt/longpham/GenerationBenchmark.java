@@ -0,0 +1,39 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+//Seeded random graph generation, including the CSR construction.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GenerationBenchmark {
+
+	@Param({"sparse-10", "sparse-1000", "sparse-100000", "sparse-1000000", "dense-10", "dense-1000", "dense-3000"})
+	public String graph;
+
+	@Benchmark
+	public CsrGraph generate() {
+		return BenchmarkGraphs.create(graph);
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+//Import of the seeded sparse graphs, written once to a temporary file in every format.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ImportBenchmark {
+
+	@Param({"EDGE_LIST", "DIMACS", "METIS"})
+	public GraphFormat format;
+
+	@Param({"sparse-100000", "sparse-1000000"})
+	public String graph;
+
+	private Path file;
+
+	@Setup
+	public void setUp() throws IOException {
+		CsrGraph input = BenchmarkGraphs.create(graph);
+		file = Files.createTempFile("import-benchmark", ".graph");
+		int n = input.vertexCount();
+		int[] offsets = input.offsets();
+		int[] targets = input.targets();
+		int[] weights = input.weights();
+		try(BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+			if(format == GraphFormat.EDGE_LIST)
+				out.write("# " + n + " " + input.arcCount() / 2 + "\n");
+			else if(format == GraphFormat.DIMACS)
+				out.write("p sp " + n + " " + input.arcCount() / 2 + "\n");
+			else
+				out.write(n + " " + input.arcCount() / 2 + " 1\n");
+			StringBuilder line = new StringBuilder();
+			for(int u = 0; u < n; u++) {
+				line.setLength(0);
+				for(int a = offsets[u]; a < offsets[u + 1]; a++) {
+					if(format == GraphFormat.METIS)
+						line.append(targets[a] + 1).append(' ').append(weights[a]).append(' ');
+					else if(u < targets[a] && format == GraphFormat.DIMACS)
+						line.append("a ").append(u + 1).append(' ').append(targets[a] + 1).append(' ').append(weights[a]).append('\n');
+					else if(u < targets[a])
+						line.append(u).append(' ').append(targets[a]).append(' ').append(weights[a]).append('\n');
+				}
+				if(format == GraphFormat.METIS)
+					line.append('\n');
+				out.append(line);
+			}
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		Files.delete(file);
+	}
+
+	@Benchmark
+	public int load() throws IOException {
+		return new GraphImporter(file, format).loadEdges().size();
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+//Vertex and edge lookups of GraphPanel: the indexed lookups against the linear scans
+//of the former Vertex.findVertexInList and Edge.findEdgeInList.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LookupBenchmark {
+	private static final int QUERIES = 1024;
+
+	@Param({"10", "1000", "100000", "1000000"})
+	public int size;
+
+	private int[] vertexIDs;
+	private int[] edgeSources;
+	private int[] edgeTargets;
+	private IdIndexTable vertexIndex;
+	private LongIntHashMap edgeIndex;
+	private int[] vertexQueries;
+	private int[] edgeQueries;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		Random rnd = new Random(BenchmarkGraphs.SEED);
+		vertexIDs = new int[size];
+		vertexIndex = new IdIndexTable();
+		for(int i = 0; i < size; i++) {
+			vertexIDs[i] = i + 1;
+			vertexIndex.put(i + 1, i);
+		}
+		edgeSources = new int[size];
+		edgeTargets = new int[size];
+		edgeIndex = new LongIntHashMap(-1, size);
+		for(int i = 0; i < size; i++) {
+			edgeSources[i] = i + 1;
+			edgeTargets[i] = rnd.nextInt(size) + 1;
+			edgeIndex.put(key(edgeSources[i], edgeTargets[i]), i);
+		}
+		vertexQueries = new int[QUERIES];
+		edgeQueries = new int[QUERIES];
+		for(int i = 0; i < QUERIES; i++) {
+			vertexQueries[i] = rnd.nextInt(size) + 1;
+			edgeQueries[i] = rnd.nextInt(size);
+		}
+	}
+
+	private int nextQuery() {
+		next = (next + 1) & (QUERIES - 1);
+		return next;
+	}
+
+	@Benchmark
+	public int vertexByIndexTable() {
+		return vertexIndex.indexOf(vertexQueries[nextQuery()]);
+	}
+
+	@Benchmark
+	public int vertexByLinearScan() {
+		int id = vertexQueries[nextQuery()];
+		for(int i = 0; i < vertexIDs.length; i++)
+			if(vertexIDs[i] == id)
+				return i;
+		return -1;
+	}
+
+	@Benchmark
+	public int edgeByHashIndex() {
+		int e = edgeQueries[nextQuery()];
+		return edgeIndex.get(key(edgeTargets[e], edgeSources[e]));
+	}
+
+	@Benchmark
+	public int edgeByLinearScan() {
+		int e = edgeQueries[nextQuery()];
+		int v1 = edgeTargets[e];
+		int v2 = edgeSources[e];
+		for(int i = 0; i < edgeSources.length; i++)
+			if(v1 == edgeSources[i] && v2 == edgeTargets[i] || v1 == edgeTargets[i] && v2 == edgeSources[i])
+				return i;
+		return -1;
+	}
+
+	private static long key(int vertexID1, int vertexID2) {
+		return ((long) Math.min(vertexID1, vertexID2) << 32) | Math.max(vertexID1, vertexID2);
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+//Full MST runs of every engine on seeded sparse and dense graphs.
+//DensePrimEngine takes O(V^2) time whatever the number of edges, so it has its own DensePrimBenchmark
+//on the graphs where that is affordable.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MSTBenchmark {
+
+	public enum Engine {
+		PRIM {
+			@Override
+			MSTEngine create() {
+				return new PrimEngine();
+			}
+		},
+		PRIM_BINARY {
+			@Override
+			MSTEngine create() {
+				return new PrimEngine(QueueKind.BINARY);
+			}
+		},
+		BORUVKA {
+			@Override
+			MSTEngine create() {
+				return new BoruvkaEngine();
+			}
+		},
+		KRUSKAL {
+			@Override
+			MSTEngine create() {
+				return new KruskalEngine(false);
+			}
+		},
+		FILTER_KRUSKAL {
+			@Override
+			MSTEngine create() {
+				return new KruskalEngine(true);
+			}
+		};
+
+		abstract MSTEngine create();
+	}
+
+	@Param({"PRIM", "PRIM_BINARY", "BORUVKA", "KRUSKAL", "FILTER_KRUSKAL"})
+	public Engine engine;
+
+	@Param({"sparse-10", "sparse-1000", "sparse-100000", "sparse-1000000", "dense-10", "dense-1000", "dense-3000"})
+	public String graph;
+
+	private CsrGraph input;
+	private MSTEngine mst;
+
+	@Setup
+	public void setUp() {
+		input = BenchmarkGraphs.create(graph);
+		mst = engine.create();
+	}
+
+	@Benchmark
+	public long findMST() {
+		return mst.findMST(input, 0).totalWeight();
+	}
+}
@@ -0,0 +1,68 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+//The priority queues behind Prim's algorithm (the former MinPriorityQueue): every item is inserted,
+//half of them get a smaller key and then all are extracted, with keys from 1 to 20 like RandomWorker's weights.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueueBenchmark {
+	private static final int MAX_KEY = 20;
+
+	@Param({"BINARY", "QUATERNARY", "PAIRING", "BUCKET"})
+	public QueueKind kind;
+
+	@Param({"10", "1000", "100000", "1000000"})
+	public int size;
+
+	private int[] keys;
+	private int[] decreased;
+
+	@Setup
+	public void setUp() {
+		Random rnd = new Random(BenchmarkGraphs.SEED);
+		keys = new int[size];
+		decreased = new int[size];
+		for(int i = 0; i < size; i++) {
+			keys[i] = rnd.nextInt(MAX_KEY) + 1;
+			decreased[i] = rnd.nextInt(keys[i]) + 1;
+		}
+	}
+
+	@Benchmark
+	public long insertDecreaseExtract() {
+		IntPriorityQueue queue = kind.create(size, 0, MAX_KEY);
+		for(int i = 0; i < size; i++)
+			queue.insert(i, keys[i]);
+		for(int i = 0; i < size; i += 2)
+			queue.decreaseKey(i, decreased[i]);
+		long sum = 0;
+		while(!queue.isEmpty())
+			sum += queue.extractMin();
+		return sum;
+	}
+}
@@ -0,0 +1,149 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+//Parallel Boruvka's algorithm. In every round each component picks its cheapest outgoing edge,
+//all picked edges are added to the tree at once and the components are merged in a concurrent union-find.
+//Both halves of a round run on a ForkJoinPool, so unlike Prim's algorithm it uses all cores.
+//Ties are broken by the edge index, which makes the picked edges a forest and the result a minimum spanning tree
+//with the same weight as the one of PrimEngine.
+public class BoruvkaEngine implements MSTEngine {
+	//Marks a component without outgoing edge in the current round.
+	private static final long NONE = Long.MAX_VALUE;
+
+	private final int parallelism;
+
+	public BoruvkaEngine() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	public BoruvkaEngine(int parallelism) {
+		if(parallelism < 1)
+			throw new IllegalArgumentException("parallelism must be at least 1");
+		this.parallelism = parallelism;
+	}
+
+	@Override
+	public MSTResult findMST(CsrGraph graph, int source) {
+		if(source < 0 || source >= graph.vertexCount())
+			throw new IllegalArgumentException("source vertex " + source + " is not in the graph");
+
+		EdgeList edges = EdgeList.fromCsr(graph);
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			int[] tree = new int[Math.max(0, edges.vertexCount - 1)];
+			int count = spanningForest(pool, edges, tree);
+			return MSTResult.fromForest(edges, source, tree, count);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	//Store the edges of a minimum spanning forest in tree and return how many there are.
+	private int spanningForest(ForkJoinPool pool, EdgeList edges, int[] tree) {
+		int n = edges.vertexCount;
+		int[] sources = edges.sources;
+		int[] targets = edges.targets;
+		int[] weights = edges.weights;
+
+		ConcurrentUnionFind components = new ConcurrentUnionFind(n);
+		//Cheapest outgoing edge of every component root, as weight and edge index packed into a long.
+		AtomicLongArray cheapest = new AtomicLongArray(n);
+		AtomicInteger treeSize = new AtomicInteger();
+
+		int[] active = new int[edges.size()];
+		ParallelRange.run(pool, 0, active.length, (from, to) -> {
+			for(int i = from; i < to; i++)
+				active[i] = i;
+		});
+		int activeCount = active.length;
+
+		while(activeCount > 0) {
+			ParallelRange.run(pool, 0, n, (from, to) -> {
+				for(int r = from; r < to; r++)
+					cheapest.set(r, NONE);
+			});
+
+			//Find the cheapest outgoing edge of every component, edges inside a component are dropped for good.
+			int[] current = active;
+			ParallelRange.run(pool, 0, activeCount, (from, to) -> {
+				for(int i = from; i < to; i++) {
+					int e = current[i];
+					int ru = components.find(sources[e]);
+					int rv = components.find(targets[e]);
+					if(ru == rv) {
+						current[i] = -1;
+					} else {
+						long candidate = ((long) weights[e] << 32) | e;
+						lowerTo(cheapest, ru, candidate);
+						lowerTo(cheapest, rv, candidate);
+					}
+				}
+			});
+
+			//Contract along the picked edges. Two components may pick the same edge, then only one union succeeds.
+			int before = treeSize.get();
+			ParallelRange.run(pool, 0, n, (from, to) -> {
+				for(int r = from; r < to; r++) {
+					long picked = cheapest.get(r);
+					if(picked != NONE) {
+						int e = (int) picked;
+						if(components.union(sources[e], targets[e]))
+							tree[treeSize.getAndIncrement()] = e;
+					}
+				}
+			});
+			if(treeSize.get() == before)
+				break;
+
+			activeCount = compact(pool, active, activeCount);
+		}
+		return treeSize.get();
+	}
+
+	private static void lowerTo(AtomicLongArray cheapest, int r, long candidate) {
+		long current = cheapest.get(r);
+		while(candidate < current && !cheapest.compareAndSet(r, current, candidate))
+			current = cheapest.get(r);
+	}
+
+	//Move the entries which are not -1 to the front of edges and return their number.
+	//Every chunk counts its survivors in parallel, then copies them to its offset in parallel.
+	private int compact(ForkJoinPool pool, int[] edges, int count) {
+		int chunks = Math.max(1, Math.min(parallelism * 4, count / ParallelRange.GRAIN));
+		int chunkSize = (count + chunks - 1) / chunks;
+		int[] offsets = new int[chunks + 1];
+		ParallelRange.run(pool, 0, chunks, 1, (from, to) -> {
+			for(int c = from; c < to; c++) {
+				int survivors = 0;
+				for(int i = c * chunkSize; i < Math.min(count, (c + 1) * chunkSize); i++)
+					if(edges[i] != -1)
+						survivors++;
+				offsets[c + 1] = survivors;
+			}
+		});
+		for(int c = 0; c < chunks; c++)
+			offsets[c + 1] += offsets[c];
+
+		int[] compacted = new int[offsets[chunks]];
+		ParallelRange.run(pool, 0, chunks, 1, (from, to) -> {
+			for(int c = from; c < to; c++) {
+				int next = offsets[c];
+				for(int i = c * chunkSize; i < Math.min(count, (c + 1) * chunkSize); i++)
+					if(edges[i] != -1)
+						compacted[next++] = edges[i];
+			}
+		});
+		System.arraycopy(compacted, 0, edges, 0, compacted.length);
+		return compacted.length;
+	}
+}
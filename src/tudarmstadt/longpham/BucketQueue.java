@@ -0,0 +1,139 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+//Bucket queue for keys in a small range minKey .. maxKey, e.g. the 1 - 20 weights of random graphs.
+//Every key has its own doubly linked bucket, so insert and decreaseKey are O(1) without any comparison,
+//and extractMin scans forward from the smallest bucket which may be non-empty.
+//Keys of Prim's algorithm are not monotone, so the scan cursor also moves back when a smaller key arrives.
+public class BucketQueue implements IntPriorityQueue {
+	private static final int NONE = -1;
+	//Largest number of buckets, the bucket array has to be allocatable.
+	private static final int MAX_BUCKETS = Integer.MAX_VALUE - 8;
+
+	private final int minKey;
+	private final int[] buckets;
+	private final int[] keys;
+	private final int[] next;
+	private final int[] prev;
+	private final boolean[] inQueue;
+	private int cursor;
+	private int size;
+
+	public BucketQueue(int capacity, int minKey, int maxKey) {
+		if(maxKey < minKey)
+			throw new IllegalArgumentException("maxKey must not be smaller than minKey");
+		if((long) maxKey - minKey >= MAX_BUCKETS)
+			throw new IllegalArgumentException("key range " + minKey + " .. " + maxKey + " is too large for a bucket queue");
+		this.minKey = minKey;
+		buckets = new int[maxKey - minKey + 1];
+		keys = new int[capacity];
+		next = new int[capacity];
+		prev = new int[capacity];
+		inQueue = new boolean[capacity];
+		Arrays.fill(buckets, NONE);
+		cursor = buckets.length;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public boolean contains(int item) {
+		return inQueue[item];
+	}
+
+	@Override
+	public int key(int item) {
+		return keys[item];
+	}
+
+	@Override
+	public void insert(int item, int key) {
+		if(inQueue[item])
+			throw new IllegalArgumentException("item " + item + " is already in the queue");
+		int bucket = bucket(key);
+		if(MSTStats.ENABLED)
+			MSTStats.INSERTS.increment();
+		inQueue[item] = true;
+		link(item, key, bucket);
+		size++;
+	}
+
+	@Override
+	public void decreaseKey(int item, int key) {
+		if(key > keys[item])
+			throw new IllegalArgumentException("new key " + key + " is larger than the current key " + keys[item]);
+		int bucket = bucket(key);
+		if(MSTStats.ENABLED)
+			MSTStats.DECREASE_KEYS.increment();
+		unlink(item);
+		link(item, key, bucket);
+	}
+
+	@Override
+	public int peek() {
+		if(size == 0)
+			return NONE;
+		while(buckets[cursor] == NONE)
+			cursor++;
+		return buckets[cursor];
+	}
+
+	@Override
+	public int extractMin() {
+		if(size == 0)
+			throw new NoSuchElementException("the queue is empty");
+		if(MSTStats.ENABLED)
+			MSTStats.EXTRACT_MINS.increment();
+		int min = peek();
+		unlink(min);
+		inQueue[min] = false;
+		size--;
+		return min;
+	}
+
+	//Bucket of the key, checked before the queue is changed.
+	private int bucket(int key) {
+		//Computed in long, key - minKey overflows for keys far apart.
+		long offset = (long) key - minKey;
+		if(offset < 0 || offset >= buckets.length)
+			throw new IllegalArgumentException("key " + key + " is out of the range of the queue");
+		return (int) offset;
+	}
+
+	private void link(int item, int key, int bucket) {
+		keys[item] = key;
+		prev[item] = NONE;
+		next[item] = buckets[bucket];
+		if(buckets[bucket] != NONE)
+			prev[buckets[bucket]] = item;
+		buckets[bucket] = item;
+		if(bucket < cursor)
+			cursor = bucket;
+	}
+
+	private void unlink(int item) {
+		if(prev[item] != NONE)
+			next[prev[item]] = next[item];
+		else
+			buckets[keys[item] - minKey] = next[item];
+		if(next[item] != NONE)
+			prev[next[item]] = prev[item];
+	}
+}
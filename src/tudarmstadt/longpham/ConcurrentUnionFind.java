@@ -0,0 +1,52 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+//Lock-free union-find for the elements 0 .. n-1.
+//Roots are linked by compare-and-set, always the larger root under the smaller one so that no cycle can appear,
+//and find halves the paths it walks with compare-and-set as well. Both operations are safe to call from many threads.
+final class ConcurrentUnionFind {
+	private final AtomicIntegerArray parent;
+
+	ConcurrentUnionFind(int n) {
+		parent = new AtomicIntegerArray(n);
+		for(int i = 0; i < n; i++)
+			parent.set(i, i);
+	}
+
+	int find(int x) {
+		while(true) {
+			int p = parent.get(x);
+			if(p == x)
+				return x;
+			int grandParent = parent.get(p);
+			if(p != grandParent)
+				parent.compareAndSet(x, p, grandParent);
+			x = grandParent;
+		}
+	}
+
+	//Merge the sets of a and b, return false if they were the same set already.
+	boolean union(int a, int b) {
+		while(true) {
+			int ra = find(a);
+			int rb = find(b);
+			if(ra == rb)
+				return false;
+			if(ra < rb) {
+				int temp = ra;
+				ra = rb;
+				rb = temp;
+			}
+			if(parent.compareAndSet(ra, ra, rb))
+				return true;
+		}
+	}
+}
@@ -0,0 +1,98 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+//Compact compressed-sparse-row (CSR) form of an undirected weighted graph.
+//The neighbours of vertex v are targets[offsets[v]] .. targets[offsets[v+1] - 1] and
+//weights[i] is the weight of the arc stored at targets[i]. Vertices are dense indices 0 .. n-1,
+//so the graph can be handed to an MSTEngine without any Vertex or Edge objects.
+public final class CsrGraph {
+	private final int[] offsets;
+	private final int[] targets;
+	private final int[] weights;
+
+	//For every arc, the index of the undirected edge it belongs to (or null if unknown).
+	private final int[] arcEdges;
+
+	public CsrGraph(int[] offsets, int[] targets, int[] weights) {
+		this(offsets, targets, weights, null);
+	}
+
+	private CsrGraph(int[] offsets, int[] targets, int[] weights, int[] arcEdges) {
+		if(offsets.length == 0 || offsets[0] != 0)
+			throw new IllegalArgumentException("offsets must start with 0");
+		if(targets.length != weights.length || offsets[offsets.length - 1] != targets.length)
+			throw new IllegalArgumentException("offsets, targets and weights do not describe the same arcs");
+		this.offsets = offsets;
+		this.targets = targets;
+		this.weights = weights;
+		this.arcEdges = arcEdges;
+	}
+
+	//Build the CSR graph of n vertices from an undirected edge list.
+	//Edge i connects sources[i] and destinations[i] with weight weights[i], it is stored in both directions.
+	public static CsrGraph fromEdges(int n, int[] sources, int[] destinations, int[] weights) {
+		int m = sources.length;
+		if(destinations.length != m || weights.length != m)
+			throw new IllegalArgumentException("edge arrays must have the same length");
+
+		//Count the degree of every vertex, then turn the counts into start offsets.
+		int[] offsets = new int[n + 1];
+		for(int i = 0; i < m; i++) {
+			offsets[sources[i] + 1]++;
+			offsets[destinations[i] + 1]++;
+		}
+		for(int v = 0; v < n; v++)
+			offsets[v + 1] += offsets[v];
+
+		int[] fill = new int[n];
+		System.arraycopy(offsets, 0, fill, 0, n);
+		int[] targets = new int[2 * m];
+		int[] arcWeights = new int[2 * m];
+		int[] arcEdges = new int[2 * m];
+		for(int i = 0; i < m; i++) {
+			int u = sources[i];
+			int v = destinations[i];
+			int a = fill[u]++;
+			targets[a] = v;
+			arcWeights[a] = weights[i];
+			arcEdges[a] = i;
+			a = fill[v]++;
+			targets[a] = u;
+			arcWeights[a] = weights[i];
+			arcEdges[a] = i;
+		}
+		return new CsrGraph(offsets, targets, arcWeights, arcEdges);
+	}
+
+	public int vertexCount() {
+		return offsets.length - 1;
+	}
+
+	//Number of stored arcs, which is twice the number of undirected edges.
+	public int arcCount() {
+		return targets.length;
+	}
+
+	public int[] offsets() {
+		return offsets;
+	}
+
+	public int[] targets() {
+		return targets;
+	}
+
+	public int[] weights() {
+		return weights;
+	}
+
+	//Return the index of the undirected edge of an arc, or -1 if the graph was not built from an edge list.
+	public int arcEdge(int arc) {
+		return arcEdges == null ? -1 : arcEdges[arc];
+	}
+}
@@ -0,0 +1,150 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+//Indexed d-ary min-heap. Compared to the binary IndexedMinHeap the tree is flatter, so decreaseKey
+//(the most frequent operation of Prim's algorithm on denser graphs) needs fewer levels to sift up,
+//while extractMin compares more children per level.
+public class DaryHeap implements IntPriorityQueue {
+	private static final int ABSENT = -1;
+
+	private final int arity;
+	private final int[] heap;
+	private final int[] position;
+	private final int[] keys;
+	private int size;
+
+	public DaryHeap(int capacity, int arity) {
+		if(arity < 2)
+			throw new IllegalArgumentException("arity must be at least 2");
+		this.arity = arity;
+		heap = new int[capacity];
+		position = new int[capacity];
+		keys = new int[capacity];
+		Arrays.fill(position, ABSENT);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public boolean contains(int item) {
+		return position[item] != ABSENT;
+	}
+
+	@Override
+	public int key(int item) {
+		return keys[item];
+	}
+
+	@Override
+	public void insert(int item, int key) {
+		if(contains(item))
+			throw new IllegalArgumentException("item " + item + " is already in the heap");
+		if(MSTStats.ENABLED)
+			MSTStats.INSERTS.increment();
+		keys[item] = key;
+		heap[size] = item;
+		position[item] = size;
+		siftUp(size++);
+	}
+
+	@Override
+	public void decreaseKey(int item, int key) {
+		if(key > keys[item])
+			throw new IllegalArgumentException("new key " + key + " is larger than the current key " + keys[item]);
+		if(MSTStats.ENABLED)
+			MSTStats.DECREASE_KEYS.increment();
+		keys[item] = key;
+		siftUp(position[item]);
+	}
+
+	@Override
+	public int peek() {
+		return size == 0 ? ABSENT : heap[0];
+	}
+
+	@Override
+	public int extractMin() {
+		if(size == 0)
+			throw new NoSuchElementException("the queue is empty");
+		if(MSTStats.ENABLED)
+			MSTStats.EXTRACT_MINS.increment();
+		int min = heap[0];
+		position[min] = ABSENT;
+		size--;
+		if(size > 0) {
+			heap[0] = heap[size];
+			position[heap[0]] = 0;
+			siftDown(0);
+		}
+		return min;
+	}
+
+	private void siftUp(int pos) {
+		int item = heap[pos];
+		int key = keys[item];
+		int comparisons = 0;
+		while(pos > 0) {
+			int parent = (pos - 1) / arity;
+			int parentItem = heap[parent];
+			comparisons++;
+			if(keys[parentItem] <= key)
+				break;
+			heap[pos] = parentItem;
+			position[parentItem] = pos;
+			pos = parent;
+		}
+		heap[pos] = item;
+		position[item] = pos;
+		if(MSTStats.ENABLED)
+			MSTStats.COMPARISONS.add(comparisons);
+	}
+
+	private void siftDown(int pos) {
+		int item = heap[pos];
+		int key = keys[item];
+		int comparisons = 0;
+		while(true) {
+			int first = arity * pos + 1;
+			if(first >= size)
+				break;
+			int last = Math.min(first + arity, size);
+			comparisons += last - first;
+			int smallest = first;
+			int smallestKey = keys[heap[first]];
+			for(int child = first + 1; child < last; child++) {
+				int childKey = keys[heap[child]];
+				if(childKey < smallestKey) {
+					smallest = child;
+					smallestKey = childKey;
+				}
+			}
+			if(key <= smallestKey)
+				break;
+			int childItem = heap[smallest];
+			heap[pos] = childItem;
+			position[childItem] = pos;
+			pos = smallest;
+		}
+		heap[pos] = item;
+		position[item] = pos;
+		if(MSTStats.ENABLED)
+			MSTStats.COMPARISONS.add(comparisons);
+	}
+}
@@ -0,0 +1,116 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import java.util.Arrays;
+
+//Prim's algorithm in O(V^2) for (nearly) complete graphs, where a priority queue is pure overhead.
+//The keys of the remaining vertices live in one flat distance row and the next vertex is found by scanning it.
+//The row only holds the vertices which aren't in the tree yet, an added vertex is replaced by the last entry,
+//so the scans shrink from V to 1 entries. Every entry holds the key and the vertex packed into a long
+//(key in the high half), so the scan is a plain min-reduction over a long[] without data dependent branches,
+//which the JIT unrolls and vectorizes where it can.
+public class DensePrimEngine implements MSTEngine {
+	//Density (arcs divided by the V * (V - 1) possible arcs) from which PrimEngine switches to this engine.
+	static final double DENSITY_THRESHOLD = 0.5;
+
+	//Entry of the vertices which are not reached yet.
+	private static final long UNREACHED = Long.MAX_VALUE;
+
+	@Override
+	public MSTResult findMST(CsrGraph graph, int source) {
+		int n = graph.vertexCount();
+		if(source < 0 || source >= n)
+			throw new IllegalArgumentException("source vertex " + source + " is not in the graph");
+
+		int[] offsets = graph.offsets();
+		int[] targets = graph.targets();
+		int[] weights = graph.weights();
+
+		int[] parent = new int[n];
+		int[] key = new int[n];
+		Arrays.fill(parent, MSTResult.NO_PARENT);
+		Arrays.fill(key, Integer.MAX_VALUE);
+		key[source] = 0;
+
+		//distance[0 .. remaining-1] are the entries of the vertices outside the tree,
+		//slot[v] is where the entry of v is and vertexAt[i] is the vertex of entry i.
+		long[] distance = new long[n];
+		int[] slot = new int[n];
+		int[] vertexAt = new int[n];
+		for(int v = 0; v < n; v++) {
+			distance[v] = UNREACHED;
+			slot[v] = v;
+			vertexAt[v] = v;
+		}
+		distance[source] = pack(0, source);
+		int remaining = n;
+		long relaxations = 0;
+
+		while(remaining > 0) {
+			//Every extraction compares all remaining entries.
+			if(MSTStats.ENABLED) {
+				MSTStats.EXTRACT_MINS.increment();
+				MSTStats.COMPARISONS.add(remaining);
+			}
+			long next = minimum(distance, remaining);
+			if(next == UNREACHED)
+				break;
+			int u = (int) next;
+
+			//Take u out of the row by moving the last entry into its slot.
+			remaining--;
+			int lastVertex = vertexAt[remaining];
+			distance[slot[u]] = distance[remaining];
+			vertexAt[slot[u]] = lastVertex;
+			slot[lastVertex] = slot[u];
+			slot[u] = -1;
+
+			for(int a = offsets[u]; a < offsets[u + 1]; a++) {
+				int v = targets[a];
+				if(slot[v] >= 0 && weights[a] < key[v]) {
+					key[v] = weights[a];
+					parent[v] = u;
+					distance[slot[v]] = pack(weights[a], v);
+					relaxations++;
+				}
+			}
+		}
+		if(MSTStats.ENABLED)
+			MSTStats.RELAXATIONS.add(relaxations);
+		return new MSTResult(source, parent, key);
+	}
+
+	//Whether the graph is dense enough for the O(V^2) scan to beat a heap.
+	static boolean isDense(CsrGraph graph) {
+		long n = graph.vertexCount();
+		return n > 1 && graph.arcCount() >= DENSITY_THRESHOLD * n * (n - 1);
+	}
+
+	//Smallest of the first length entries of the row, with four independent accumulators to keep the pipeline busy.
+	static long minimum(long[] row, int length) {
+		long m0 = UNREACHED;
+		long m1 = UNREACHED;
+		long m2 = UNREACHED;
+		long m3 = UNREACHED;
+		int i = 0;
+		for(; i + 3 < length; i += 4) {
+			m0 = Math.min(m0, row[i]);
+			m1 = Math.min(m1, row[i + 1]);
+			m2 = Math.min(m2, row[i + 2]);
+			m3 = Math.min(m3, row[i + 3]);
+		}
+		for(; i < length; i++)
+			m0 = Math.min(m0, row[i]);
+		return Math.min(Math.min(m0, m1), Math.min(m2, m3));
+	}
+
+	private static long pack(int key, int vertex) {
+		return ((long) key << 32) | vertex;
+	}
+}
@@ -0,0 +1,640 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import java.util.Arrays;
+
+//Minimum spanning forest which is kept up to date while vertices and edges are added, removed and reweighted,
+//instead of running an MSTEngine on the whole graph after every edit. Vertices and edges are known by vertex IDs.
+//
+//The forest is stored in a link-cut tree in which every tree edge is a node of its own between its two vertices,
+//so the heaviest edge on the tree path between two vertices is a path aggregate found in O(log V) amortized time:
+//- an inserted edge (u, v) joins two trees, or replaces the heaviest edge on the path from u to v if it is lighter.
+//- a deleted tree edge splits its tree in two, the lightest non-tree edge crossing the cut joins them again.
+//  Both sides are searched from the endpoints of the deleted edge at the same pace until the smaller one is complete,
+//  so only the smaller side and its incident edges are visited.
+//- a deleted vertex leaves with all its edges at once, its tree falls apart into one piece per tree edge.
+//  The pieces are searched at the same pace until only the largest is left, and Kruskal's algorithm on the non-tree
+//  edges leaving the others joins them again, instead of one replacement search per deleted tree edge.
+final class DynamicMST {
+	//Told about every edge which enters or leaves the forest.
+	interface Listener {
+		void treeEdgeChanged(int vertexID1, int vertexID2, boolean inTree);
+	}
+
+	//Node 0 stands for no node, vertices and edges are the nodes 1 .. nodeCount - 1 (and the free ones in between).
+	private int nodeCount = 1;
+	private final IntArrayList freeNodes = new IntArrayList();
+
+	//Link-cut tree: children and parent in the splay tree of a preferred path (or the path parent at its root),
+	//the pending reversal of a subtree, the weight of a node (Integer.MIN_VALUE for vertices)
+	//and the heaviest node in its splay subtree.
+	private int[] left;
+	private int[] right;
+	private int[] up;
+	private boolean[] flip;
+	private int[] weight;
+	private int[] heaviest;
+
+	//Edges: their vertex nodes, their slots in the incidence lists of those, whether they are in the forest, their key.
+	private int[] end1;
+	private int[] end2;
+	private int[] slot1;
+	private int[] slot2;
+	private boolean[] tree;
+	private long[] keys;
+
+	//Vertices: the ID, the incident edge nodes (tree and non-tree) and the number of incident tree edges.
+	private int[] vertexIds;
+	private IntArrayList[] incident;
+	private int[] treeDegree;
+
+	private final LongIntHashMap vertexNodes;
+	private final LongIntHashMap edgeNodes;
+	private final Listener listener;
+	private long totalWeight;
+	private int treeEdgeCount;
+
+	//Scratch space of splay and of the replacement searches, a vertex node belongs to the side (or piece) of the running
+	//search whose mark it has. searchMark + 1 is the last mark handed out.
+	private int[] stack;
+	private int[] mark;
+	private int searchMark;
+	private final Search sideA = new Search();
+	private final Search sideB = new Search();
+
+	DynamicMST(Listener listener) {
+		this(listener, 16, 16);
+	}
+
+	private DynamicMST(Listener listener, int vertexCount, int edgeCount) {
+		this.listener = listener;
+		vertexNodes = new LongIntHashMap(0, vertexCount);
+		edgeNodes = new LongIntHashMap(0, edgeCount);
+		allocate(vertexCount + edgeCount + 1);
+	}
+
+	//Forest of a whole graph at once: Kruskal's algorithm picks the tree edges and the link-cut tree is set up
+	//directly from them, every vertex and edge node being a path of its own whose path parent is its parent in the forest.
+	//Vertex i of edges has the ID vertexIds[i]. The listener is told about every tree edge.
+	static DynamicMST build(int[] vertexIds, EdgeList edges, Listener listener) {
+		DynamicMST mst = new DynamicMST(listener, vertexIds.length, edges.size());
+		for(int id: vertexIds)
+			mst.addVertex(id);
+		boolean[] accepted = new boolean[edges.size()];
+		for(int decision: new KruskalEngine(false).decisions(edges))
+			if(decision >= 0)
+				accepted[decision] = true;
+		//Vertex i became node i + 1.
+		for(int i = 0; i < edges.size(); i++) {
+			int e = mst.newEdge(edges.sources[i] + 1, edges.targets[i] + 1, edges.weights[i]);
+			if(accepted[i])
+				mst.enterTree(e);
+		}
+		mst.rootForest();
+		return mst;
+	}
+
+	//Point every node to its parent in the forest, walking each tree from the first of its vertices.
+	private void rootForest() {
+		searchMark += 2;
+		IntArrayList queue = new IntArrayList();
+		for(int root = 1; root < nodeCount; root++) {
+			if(incident[root] == null || mark[root] == searchMark)
+				continue;
+			mark[root] = searchMark;
+			queue.clear();
+			queue.add(root);
+			for(int head = 0; head < queue.size(); head++) {
+				int x = queue.get(head);
+				IntArrayList edges = incident[x];
+				for(int j = 0; j < edges.size(); j++) {
+					int e = edges.get(j);
+					int y = other(e, x);
+					if(tree[e] && mark[y] != searchMark) {
+						mark[y] = searchMark;
+						up[e] = x;
+						up[y] = e;
+						queue.add(y);
+					}
+				}
+			}
+		}
+	}
+
+	long totalWeight() {
+		return totalWeight;
+	}
+
+	int treeEdgeCount() {
+		return treeEdgeCount;
+	}
+
+	//Number of tree edges touching the vertex, 0 if it isn't known.
+	int treeDegree(int vertexID) {
+		int x = vertexNodes.get(vertexID);
+		return x == 0 ? 0 : treeDegree[x];
+	}
+
+	boolean isTreeEdge(int vertexID1, int vertexID2) {
+		int e = edgeNodes.get(key(vertexID1, vertexID2));
+		return e != 0 && tree[e];
+	}
+
+	void addVertex(int vertexID) {
+		if(vertexNodes.containsKey(vertexID))
+			throw new IllegalArgumentException("vertex " + vertexID + " exists already");
+		int x = newNode(Integer.MIN_VALUE);
+		vertexIds[x] = vertexID;
+		incident[x] = new IntArrayList(4);
+		treeDegree[x] = 0;
+		vertexNodes.put(vertexID, x);
+	}
+
+	//Remove the vertex together with its remaining edges.
+	void removeVertex(int vertexID) {
+		int x = vertexNode(vertexID);
+		IntArrayList pieces = new IntArrayList(Math.max(treeDegree[x], 1));
+		while(incident[x].size() > 0) {
+			int e = incident[x].get(incident[x].size() - 1);
+			if(tree[e])
+				pieces.add(other(e, x));
+			dropEdge(e);
+		}
+		joinPieces(pieces);
+		vertexNodes.remove(vertexID);
+		incident[x] = null;
+		freeNodes.add(x);
+	}
+
+	//Add the edge, or change its weight if the vertices are connected already.
+	void addEdge(int vertexID1, int vertexID2, int w) {
+		int e = edgeNodes.get(key(vertexID1, vertexID2));
+		if(e != 0)
+			setWeight(e, w);
+		else
+			insertEdge(newEdge(vertexNode(vertexID1), vertexNode(vertexID2), w));
+	}
+
+	void removeEdge(int vertexID1, int vertexID2) {
+		deleteEdge(edgeNode(vertexID1, vertexID2));
+	}
+
+	void setWeight(int vertexID1, int vertexID2, int w) {
+		setWeight(edgeNode(vertexID1, vertexID2), w);
+	}
+
+	//A lighter tree edge and a heavier non-tree edge stay where they are, only the weight changes.
+	//Otherwise the edge is taken out and inserted again with its new weight.
+	private void setWeight(int e, int w) {
+		if(tree[e] && w <= weight[e]) {
+			access(e);
+			totalWeight += (long) w - weight[e];
+			weight[e] = w;
+			pull(e);
+		} else if(!tree[e] && w >= weight[e]) {
+			weight[e] = w;
+		} else {
+			int u = end1[e];
+			int v = end2[e];
+			deleteEdge(e);
+			insertEdge(newEdge(u, v, w));
+		}
+	}
+
+	private void insertEdge(int e) {
+		int u = end1[e];
+		int v = end2[e];
+		if(findRoot(u) != findRoot(v)) {
+			linkEdge(e);
+			return;
+		}
+		makeRoot(u);
+		access(v);
+		int max = heaviest[v];
+		if(weight[max] > weight[e]) {
+			cutEdge(max);
+			linkEdge(e);
+		}
+	}
+
+	private void deleteEdge(int e) {
+		int u = end1[e];
+		int v = end2[e];
+		boolean inTree = tree[e];
+		dropEdge(e);
+		if(inTree) {
+			int replacement = findReplacement(u, v);
+			if(replacement != 0)
+				linkEdge(replacement);
+		}
+	}
+
+	//Take the edge out of the incidence lists and the forest, without looking for a replacement.
+	private void dropEdge(int e) {
+		removeIncident(end1[e], slot1[e]);
+		removeIncident(end2[e], slot2[e]);
+		edgeNodes.remove(keys[e]);
+		if(tree[e])
+			cutEdge(e);
+		freeNodes.add(e);
+	}
+
+	//The vertex nodes in pieces lie in different trees, which were one tree before.
+	//Join them again with the lightest non-tree edges between them.
+	private void joinPieces(IntArrayList pieces) {
+		int k = pieces.size();
+		if(k < 2)
+			return;
+		//Piece i is marked base + i.
+		int base = nextMarks(k);
+		Search[] searches = new Search[k];
+		for(int i = 0; i < k; i++) {
+			searches[i] = new Search();
+			searches[i].start(pieces.get(i), base + i);
+		}
+		//Search the pieces at the same pace until only one is incomplete, it is the largest or one as large.
+		boolean[] complete = new boolean[k];
+		int incomplete = k;
+		int largest = 0;
+		while(incomplete > 1)
+			for(int i = 0; i < k && incomplete > 1; i++)
+				if(!complete[i] && !searches[i].step()) {
+					complete[i] = true;
+					incomplete--;
+				}
+		while(complete[largest])
+			largest++;
+
+		//Every non-tree edge between two pieces leaves a complete one, a vertex without the mark of a complete piece
+		//belongs to the largest. An edge between two complete pieces is found twice, which Kruskal's algorithm doesn't mind.
+		IntArrayList candidates = new IntArrayList();
+		for(int i = 0; i < k; i++) {
+			if(!complete[i])
+				continue;
+			IntArrayList queue = searches[i].queue;
+			for(int j = 0; j < queue.size(); j++) {
+				int x = queue.get(j);
+				IntArrayList edges = incident[x];
+				for(int l = 0; l < edges.size(); l++) {
+					int e = edges.get(l);
+					if(!tree[e] && piece(other(e, x), base, complete, largest) != i)
+						candidates.add(e);
+				}
+			}
+		}
+		//Sorted by weight, the edge node in the lower half.
+		long[] sorted = new long[candidates.size()];
+		for(int i = 0; i < sorted.length; i++) {
+			int e = candidates.get(i);
+			sorted[i] = ((long) weight[e] << 32) | e;
+		}
+		Arrays.sort(sorted);
+		UnionFind joined = new UnionFind(k);
+		for(int i = 0; i < sorted.length && k > 1; i++) {
+			int e = (int) sorted[i];
+			if(joined.union(piece(end1[e], base, complete, largest), piece(end2[e], base, complete, largest))) {
+				linkEdge(e);
+				k--;
+			}
+		}
+	}
+
+	//Piece of a vertex node during joinPieces.
+	private int piece(int x, int base, boolean[] complete, int largest) {
+		int i = mark[x] - base;
+		return i >= 0 && i < complete.length && complete[i] ? i : largest;
+	}
+
+	//count marks which no node has yet, the first of them is returned.
+	private int nextMarks(int count) {
+		if(searchMark > Integer.MAX_VALUE - 2 - count) {
+			Arrays.fill(mark, 0);
+			searchMark = 0;
+		}
+		int first = searchMark + 2;
+		//searchMark + 1 stays the last mark handed out.
+		searchMark = first + count - 2;
+		return first;
+	}
+
+	//Lightest non-tree edge between the trees of u and v, which were one tree before, or 0 if there is none.
+	private int findReplacement(int u, int v) {
+		int first = nextMarks(2);
+		sideA.start(u, first);
+		sideB.start(v, first + 1);
+		Search smaller;
+		while(true) {
+			if(!sideA.step()) {
+				smaller = sideA;
+				break;
+			}
+			if(!sideB.step()) {
+				smaller = sideB;
+				break;
+			}
+		}
+		//Every non-tree edge leaving the smaller side ends in the other one.
+		int best = 0;
+		for(int i = 0; i < smaller.queue.size(); i++) {
+			int x = smaller.queue.get(i);
+			IntArrayList edges = incident[x];
+			for(int j = 0; j < edges.size(); j++) {
+				int e = edges.get(j);
+				if(!tree[e] && mark[other(e, x)] != smaller.mark && (best == 0 || weight[e] < weight[best]))
+					best = e;
+			}
+		}
+		return best;
+	}
+
+	//Breadth first search through the tree edges, one incident edge per step.
+	private final class Search {
+		final IntArrayList queue = new IntArrayList();
+		int head;
+		int cursor;
+		int mark;
+
+		void start(int x, int mark) {
+			this.mark = mark;
+			queue.clear();
+			queue.add(x);
+			DynamicMST.this.mark[x] = mark;
+			head = 0;
+			cursor = 0;
+		}
+
+		//false when the whole tree has been visited.
+		boolean step() {
+			if(head == queue.size())
+				return false;
+			int x = queue.get(head);
+			IntArrayList edges = incident[x];
+			if(cursor == edges.size()) {
+				head++;
+				cursor = 0;
+				return true;
+			}
+			int e = edges.get(cursor++);
+			if(tree[e]) {
+				int y = other(e, x);
+				if(DynamicMST.this.mark[y] != mark) {
+					DynamicMST.this.mark[y] = mark;
+					queue.add(y);
+				}
+			}
+			return true;
+		}
+	}
+
+	private void linkEdge(int e) {
+		link(end1[e], e);
+		link(e, end2[e]);
+		enterTree(e);
+	}
+
+	private void enterTree(int e) {
+		tree[e] = true;
+		treeDegree[end1[e]]++;
+		treeDegree[end2[e]]++;
+		totalWeight += weight[e];
+		treeEdgeCount++;
+		listener.treeEdgeChanged(vertexIds[end1[e]], vertexIds[end2[e]], true);
+	}
+
+	private void cutEdge(int e) {
+		cut(end1[e], e);
+		cut(e, end2[e]);
+		tree[e] = false;
+		treeDegree[end1[e]]--;
+		treeDegree[end2[e]]--;
+		totalWeight -= weight[e];
+		treeEdgeCount--;
+		listener.treeEdgeChanged(vertexIds[end1[e]], vertexIds[end2[e]], false);
+	}
+
+	//A new non-tree edge between the vertex nodes u and v in their incidence lists.
+	private int newEdge(int u, int v, int w) {
+		if(u == v)
+			throw new IllegalArgumentException("self loop at vertex " + vertexIds[u]);
+		long key = key(vertexIds[u], vertexIds[v]);
+		int e = newNode(w);
+		int existing = edgeNodes.put(key, e);
+		if(existing != 0) {
+			edgeNodes.put(key, existing);
+			freeNodes.add(e);
+			throw new IllegalArgumentException("vertices " + vertexIds[u] + " and " + vertexIds[v] + " are connected already");
+		}
+		end1[e] = u;
+		end2[e] = v;
+		slot1[e] = incident[u].size();
+		incident[u].add(e);
+		slot2[e] = incident[v].size();
+		incident[v].add(e);
+		tree[e] = false;
+		keys[e] = key;
+		return e;
+	}
+
+	//Remove the edge at slot from the incidence list of x, the last edge of the list moves there.
+	private void removeIncident(int x, int slot) {
+		IntArrayList edges = incident[x];
+		int last = edges.removeLast();
+		if(slot == edges.size())
+			return;
+		edges.set(slot, last);
+		if(end1[last] == x)
+			slot1[last] = slot;
+		else
+			slot2[last] = slot;
+	}
+
+	private int other(int e, int x) {
+		return end1[e] == x ? end2[e] : end1[e];
+	}
+
+	private int vertexNode(int vertexID) {
+		int x = vertexNodes.get(vertexID);
+		if(x == 0)
+			throw new IllegalArgumentException("vertex " + vertexID + " doesn't exist");
+		return x;
+	}
+
+	private int edgeNode(int vertexID1, int vertexID2) {
+		int e = edgeNodes.get(key(vertexID1, vertexID2));
+		if(e == 0)
+			throw new IllegalArgumentException("vertices " + vertexID1 + " and " + vertexID2 + " aren't connected");
+		return e;
+	}
+
+	//Same key as the edge index of the panel: the smaller ID goes to the high half.
+	private static long key(int vertexID1, int vertexID2) {
+		int low = Math.min(vertexID1, vertexID2);
+		int high = Math.max(vertexID1, vertexID2);
+		return ((long) low << 32) | high;
+	}
+
+	//A node which is alone in its tree.
+	private int newNode(int w) {
+		int x;
+		if(freeNodes.size() > 0) {
+			x = freeNodes.removeLast();
+		} else {
+			if(nodeCount == left.length)
+				allocate(2 * nodeCount);
+			x = nodeCount++;
+		}
+		left[x] = 0;
+		right[x] = 0;
+		up[x] = 0;
+		flip[x] = false;
+		weight[x] = w;
+		heaviest[x] = x;
+		mark[x] = 0;
+		return x;
+	}
+
+	//Room for capacity nodes.
+	private void allocate(int capacity) {
+		if(left != null && capacity <= left.length)
+			return;
+		left = grow(left, capacity);
+		right = grow(right, capacity);
+		up = grow(up, capacity);
+		flip = flip == null ? new boolean[capacity] : Arrays.copyOf(flip, capacity);
+		weight = grow(weight, capacity);
+		weight[0] = Integer.MIN_VALUE;
+		heaviest = grow(heaviest, capacity);
+		end1 = grow(end1, capacity);
+		end2 = grow(end2, capacity);
+		slot1 = grow(slot1, capacity);
+		slot2 = grow(slot2, capacity);
+		tree = tree == null ? new boolean[capacity] : Arrays.copyOf(tree, capacity);
+		keys = keys == null ? new long[capacity] : Arrays.copyOf(keys, capacity);
+		vertexIds = grow(vertexIds, capacity);
+		incident = incident == null ? new IntArrayList[capacity] : Arrays.copyOf(incident, capacity);
+		treeDegree = grow(treeDegree, capacity);
+		stack = grow(stack, capacity);
+		mark = grow(mark, capacity);
+	}
+
+	private static int[] grow(int[] array, int capacity) {
+		return array == null ? new int[capacity] : Arrays.copyOf(array, capacity);
+	}
+
+	//Link-cut tree operations, see Sleator and Tarjan, "A data structure for dynamic trees".
+
+	//Whether x is the root of its splay tree, its parent is then only a path parent.
+	private boolean isSplayRoot(int x) {
+		int p = up[x];
+		return p == 0 || (left[p] != x && right[p] != x);
+	}
+
+	private void push(int x) {
+		if(flip[x]) {
+			int l = left[x];
+			left[x] = right[x];
+			right[x] = l;
+			flip[left[x]] ^= true;
+			flip[right[x]] ^= true;
+			flip[x] = false;
+		}
+	}
+
+	private void pull(int x) {
+		int max = x;
+		if(weight[heaviest[left[x]]] > weight[max])
+			max = heaviest[left[x]];
+		if(weight[heaviest[right[x]]] > weight[max])
+			max = heaviest[right[x]];
+		heaviest[x] = max;
+	}
+
+	private void rotate(int x) {
+		int p = up[x];
+		int g = up[p];
+		if(!isSplayRoot(p)) {
+			if(left[g] == p)
+				left[g] = x;
+			else
+				right[g] = x;
+		}
+		up[x] = g;
+		if(left[p] == x) {
+			left[p] = right[x];
+			up[right[x]] = p;
+			right[x] = p;
+		} else {
+			right[p] = left[x];
+			up[left[x]] = p;
+			left[x] = p;
+		}
+		up[p] = x;
+		pull(p);
+		pull(x);
+	}
+
+	private void splay(int x) {
+		//Pending reversals are pushed down from the root of the splay tree first, without recursion.
+		int size = 0;
+		stack[size++] = x;
+		for(int y = x; !isSplayRoot(y); y = up[y])
+			stack[size++] = up[y];
+		while(size > 0)
+			push(stack[--size]);
+		while(!isSplayRoot(x)) {
+			int p = up[x];
+			if(!isSplayRoot(p))
+				rotate((left[p] == x) == (left[up[p]] == p) ? p : x);
+			rotate(x);
+		}
+	}
+
+	//Make the path from the root of its tree to x preferred, x is then the root of its splay tree.
+	private void access(int x) {
+		for(int y = x, last = 0; y != 0; last = y, y = up[y]) {
+			splay(y);
+			right[y] = last;
+			pull(y);
+		}
+		splay(x);
+	}
+
+	private void makeRoot(int x) {
+		access(x);
+		flip[x] ^= true;
+		push(x);
+	}
+
+	private int findRoot(int x) {
+		access(x);
+		while(true) {
+			push(x);
+			if(left[x] == 0)
+				break;
+			x = left[x];
+		}
+		splay(x);
+		return x;
+	}
+
+	//x and y are in different trees.
+	private void link(int x, int y) {
+		makeRoot(x);
+		up[x] = y;
+	}
+
+	//x and y are neighbours.
+	private void cut(int x, int y) {
+		makeRoot(x);
+		access(y);
+		left[y] = 0;
+		up[x] = 0;
+		pull(y);
+	}
+}
@@ -0,0 +1,60 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+//Flat undirected edge arrays of a CsrGraph, for the engines which work edge by edge instead of vertex by vertex.
+//Edge i connects sources[i] and targets[i] with weight weights[i]. Self loops are dropped.
+final class EdgeList {
+	final int vertexCount;
+	final int[] sources;
+	final int[] targets;
+	final int[] weights;
+
+	EdgeList(int vertexCount, int[] sources, int[] targets, int[] weights) {
+		this.vertexCount = vertexCount;
+		this.sources = sources;
+		this.targets = targets;
+		this.weights = weights;
+	}
+
+	int size() {
+		return sources.length;
+	}
+
+	CsrGraph toCsr() {
+		return CsrGraph.fromEdges(vertexCount, sources, targets, weights);
+	}
+
+	//Every undirected edge is stored as two arcs in the CsrGraph, only the arc from the smaller vertex is kept.
+	static EdgeList fromCsr(CsrGraph graph) {
+		int n = graph.vertexCount();
+		int[] offsets = graph.offsets();
+		int[] arcTargets = graph.targets();
+		int[] arcWeights = graph.weights();
+
+		int m = 0;
+		for(int u = 0; u < n; u++)
+			for(int a = offsets[u]; a < offsets[u + 1]; a++)
+				if(u < arcTargets[a])
+					m++;
+
+		int[] sources = new int[m];
+		int[] targets = new int[m];
+		int[] weights = new int[m];
+		int i = 0;
+		for(int u = 0; u < n; u++)
+			for(int a = offsets[u]; a < offsets[u + 1]; a++)
+				if(u < arcTargets[a]) {
+					sources[i] = u;
+					targets[i] = arcTargets[a];
+					weights[i] = arcWeights[a];
+					i++;
+				}
+		return new EdgeList(n, sources, targets, weights);
+	}
+}
@@ -0,0 +1,44 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+//File formats read by GraphImporter.
+public enum GraphFormat {
+	//One "source target [weight]" line per edge, '#' and '%' lines are comments. Without weight the edge weighs 1.
+	//A first line "# n m" (as written by GraphGenerator) declares n vertices numbered 0 .. n-1,
+	//otherwise the vertex IDs found in the file are numbered 0 .. n-1 in increasing order.
+	EDGE_LIST("Edge list"),
+	//DIMACS shortest path / graph format: "p <kind> n m", then "a u v w" or "e u v [w]" lines with vertices 1 .. n.
+	DIMACS("DIMACS"),
+	//METIS: header "n m [fmt [ncon]]", then line i lists the neighbours of vertex i (1-based), each followed by its edge weight if fmt ends with 1.
+	METIS("METIS");
+
+	private final String title;
+
+	GraphFormat(String title) {
+		this.title = title;
+	}
+
+	//Guess the format from the file extension: .gr/.dimacs is DIMACS, .graph/.metis is METIS, everything else an edge list.
+	public static GraphFormat forFile(Path file) {
+		String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+		if(name.endsWith(".gr") || name.endsWith(".dimacs"))
+			return DIMACS;
+		if(name.endsWith(".graph") || name.endsWith(".metis"))
+			return METIS;
+		return EDGE_LIST;
+	}
+
+	@Override
+	public String toString() {
+		return title;
+	}
+}
@@ -0,0 +1,342 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+//Seeded generator of random weighted graphs for the panel, the benchmarks and batch jobs.
+//The work is cut into chunks of a fixed size, every chunk has its own random generator split from the seed
+//and the chunks are filled in parallel, so the same seed always gives the same graph whatever the number of cores.
+//Duplicate edges are rejected in O(1) with a primitive LongHashSet of vertex pairs.
+public class GraphGenerator {
+	public static final int DEFAULT_MIN_WEIGHT = 1;
+	public static final int DEFAULT_MAX_WEIGHT = 20;
+
+	//Number of edges generated by one chunk.
+	private static final int CHUNK = 1 << 16;
+	//Upper bound for the number of G(n, p) chunks.
+	private static final int MAX_GNP_CHUNKS = 1 << 12;
+
+	private final GraphModel model;
+	private final int vertexCount;
+	private final long edgeCount;
+	private final long seed;
+	private final int minWeight;
+	private final int maxWeight;
+	private final ForkJoinPool pool = ForkJoinPool.commonPool();
+
+	public GraphGenerator(GraphModel model, int vertexCount, long edgeCount, long seed) {
+		this(model, vertexCount, edgeCount, seed, DEFAULT_MIN_WEIGHT, DEFAULT_MAX_WEIGHT);
+	}
+
+	//Weights are drawn uniformly from minWeight .. maxWeight.
+	public GraphGenerator(GraphModel model, int vertexCount, long edgeCount, long seed, int minWeight, int maxWeight) {
+		if(vertexCount < 1)
+			throw new IllegalArgumentException("a graph needs at least one vertex");
+		if(edgeCount < 0)
+			throw new IllegalArgumentException("the number of edges must not be negative");
+		if(maxWeight < minWeight)
+			throw new IllegalArgumentException("maxWeight must not be smaller than minWeight");
+		long pairs = pairCount(vertexCount);
+		if((model == GraphModel.GNM || model == GraphModel.SPANNING_TREE) && edgeCount > pairs)
+			throw new IllegalArgumentException(vertexCount + " vertices have only " + pairs + " distinct edges");
+		if(Math.min(edgeCount, pairs) > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("at most " + Integer.MAX_VALUE + " edges can be generated");
+		this.model = model;
+		this.vertexCount = vertexCount;
+		this.edgeCount = edgeCount;
+		this.seed = seed;
+		this.minWeight = minWeight;
+		this.maxWeight = maxWeight;
+	}
+
+	public CsrGraph generate() {
+		return generateEdges().toCsr();
+	}
+
+	EdgeList generateEdges() {
+		SplittableRandom random = new SplittableRandom(seed);
+		long[] pairs;
+		switch(model) {
+		case GNM:
+			pairs = randomPairs(new LongHashSet((int) edgeCount), new long[(int) edgeCount], 0, random);
+			break;
+		case GNP:
+			pairs = gnpPairs(random);
+			break;
+		case SPANNING_TREE:
+			pairs = spanningTreePairs(random);
+			break;
+		case GRID:
+			pairs = gridPairs();
+			break;
+		default:
+			throw new IllegalStateException("unknown model " + model);
+		}
+		return toEdgeList(pairs, random.split());
+	}
+
+	//Unordered vertex pair as a long, the smaller vertex in the high half.
+	static long pair(int u, int v) {
+		return u < v ? ((long) u << 32) | v : ((long) v << 32) | u;
+	}
+
+	private static long pairCount(long n) {
+		return n * (n - 1) / 2;
+	}
+
+	//Fill pairs[filled ..] with distinct random pairs which are not in seen yet.
+	//When more than half of all pairs are wanted, the missing pairs are drawn instead and everything else is taken,
+	//so that rejection never has to hit the last free pairs of a nearly complete graph.
+	private long[] randomPairs(LongHashSet seen, long[] pairs, int filled, SplittableRandom random) {
+		long free = pairCount(vertexCount) - seen.size();
+		int wanted = pairs.length - filled;
+		if(wanted > free / 2)
+			return complementPairs(seen, pairs, filled, random);
+
+		while(filled < pairs.length) {
+			//Draw a few more candidates than missing, duplicates are rare below half density.
+			int missing = pairs.length - filled;
+			long[] candidates = parallelCandidates(missing + (missing >> 4) + 16, random.split());
+			for(int i = 0; i < candidates.length && filled < pairs.length; i++)
+				if(seen.add(candidates[i]))
+					pairs[filled++] = candidates[i];
+		}
+		return pairs;
+	}
+
+	//Random pairs of distinct vertices, drawn by chunks in parallel.
+	private long[] parallelCandidates(int count, SplittableRandom random) {
+		long[] candidates = new long[count];
+		int chunks = (count + CHUNK - 1) / CHUNK;
+		SplittableRandom[] randoms = split(random, chunks);
+		int n = vertexCount;
+		ParallelRange.run(pool, 0, chunks, 1, (from, to) -> {
+			for(int c = from; c < to; c++) {
+				SplittableRandom rnd = randoms[c];
+				for(int i = c * CHUNK; i < Math.min(count, (c + 1) * CHUNK); i++) {
+					int u = rnd.nextInt(n);
+					int v = rnd.nextInt(n - 1);
+					//Skip u itself, so that no self loop is drawn.
+					if(v >= u)
+						v++;
+					candidates[i] = pair(u, v);
+				}
+			}
+		});
+		return candidates;
+	}
+
+	private long[] complementPairs(LongHashSet seen, long[] pairs, int filled, SplittableRandom random) {
+		int n = vertexCount;
+		long free = pairCount(n) - seen.size();
+		int wanted = pairs.length - filled;
+
+		//Draw the pairs which stay out of the graph.
+		LongHashSet missing = new LongHashSet((int) (free - wanted));
+		while(missing.size() < free - wanted) {
+			int u = random.nextInt(n);
+			int v = random.nextInt(n - 1);
+			if(v >= u)
+				v++;
+			long p = pair(u, v);
+			if(!seen.contains(p))
+				missing.add(p);
+		}
+		for(int u = 0; u < n && filled < pairs.length; u++)
+			for(int v = u + 1; v < n; v++) {
+				long p = pair(u, v);
+				if(!missing.contains(p) && seen.add(p))
+					pairs[filled++] = p;
+			}
+		return pairs;
+	}
+
+	//G(n, p) by geometric skipping: the gap to the next edge in the sequence of all pairs is drawn directly,
+	//so the work is proportional to the number of edges and not to the number of pairs.
+	private long[] gnpPairs(SplittableRandom random) {
+		long total = pairCount(vertexCount);
+		double p = total == 0 ? 0 : Math.min(1.0, (double) edgeCount / total);
+		if(p == 0)
+			return new long[0];
+
+		int chunks = (int) Math.max(1, Math.min(MAX_GNP_CHUNKS, edgeCount / CHUNK));
+		long chunkLength = (total + chunks - 1) / chunks;
+		SplittableRandom[] randoms = split(random, chunks);
+		IntArrayList[] sources = new IntArrayList[chunks];
+		IntArrayList[] targets = new IntArrayList[chunks];
+		double logQ = Math.log1p(-p);
+		int n = vertexCount;
+		ParallelRange.run(pool, 0, chunks, 1, (from, to) -> {
+			for(int c = from; c < to; c++) {
+				SplittableRandom rnd = randoms[c];
+				long end = Math.min(total, (c + 1) * chunkLength);
+				int expected = (int) Math.min(Integer.MAX_VALUE - 8, (long) (p * chunkLength * 1.1) + 16);
+				IntArrayList us = new IntArrayList(expected);
+				IntArrayList vs = new IntArrayList(expected);
+				for(long index = c * chunkLength; index < end; index++) {
+					if(p < 1) {
+						double skip = Math.floor(Math.log(1 - rnd.nextDouble()) / logQ);
+						if(skip >= end - index)
+							break;
+						index += (long) skip;
+					}
+					int u = rowOf(index, n);
+					us.add(u);
+					vs.add((int) (index - rowStart(u, n)) + u + 1);
+				}
+				sources[c] = us;
+				targets[c] = vs;
+			}
+		});
+
+		int size = 0;
+		for(IntArrayList list : sources)
+			size += list.size();
+		long[] pairs = new long[size];
+		int next = 0;
+		for(int c = 0; c < chunks; c++)
+			for(int i = 0; i < sources[c].size(); i++)
+				pairs[next++] = pair(sources[c].get(i), targets[c].get(i));
+		return pairs;
+	}
+
+	//Number of pairs (u, v) with u < v in the rows before row u.
+	private static long rowStart(long u, long n) {
+		return u * (2 * n - u - 1) / 2;
+	}
+
+	//Row of the pair with the given index in the sequence (0, 1), (0, 2) .. (0, n-1), (1, 2) ..
+	private static int rowOf(long index, int n) {
+		double b = 2.0 * n - 1;
+		int u = (int) Math.max(0, Math.floor((b - Math.sqrt(b * b - 8.0 * index)) / 2));
+		while(u > 0 && rowStart(u, n) > index)
+			u--;
+		while(u + 1 < n && rowStart(u + 1, n) <= index)
+			u++;
+		return u;
+	}
+
+	//A random recursive tree over a random order of the vertices, then uniformly chosen extra edges.
+	private long[] spanningTreePairs(SplittableRandom random) {
+		int n = vertexCount;
+		int[] order = new int[n];
+		for(int i = 0; i < n; i++)
+			order[i] = i;
+		for(int i = n - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int temp = order[i];
+			order[i] = order[j];
+			order[j] = temp;
+		}
+
+		//The i-th vertex of the order hangs below one of the vertices before it.
+		long[] pairs = new long[(int) Math.max(edgeCount, n - 1)];
+		int treeEdges = n - 1;
+		int chunks = (treeEdges + CHUNK - 1) / CHUNK;
+		SplittableRandom[] randoms = split(random, chunks);
+		ParallelRange.run(pool, 0, chunks, 1, (from, to) -> {
+			for(int c = from; c < to; c++)
+				for(int i = c * CHUNK; i < Math.min(treeEdges, (c + 1) * CHUNK); i++)
+					pairs[i] = pair(order[i + 1], order[randoms[c].nextInt(i + 1)]);
+		});
+
+		LongHashSet seen = new LongHashSet(pairs.length);
+		for(int i = 0; i < treeEdges; i++)
+			seen.add(pairs[i]);
+		return randomPairs(seen, pairs, treeEdges, random);
+	}
+
+	private long[] gridPairs() {
+		int n = vertexCount;
+		int columns = gridColumns(n);
+		IntArrayList us = new IntArrayList(2 * n);
+		IntArrayList vs = new IntArrayList(2 * n);
+		for(int i = 0; i < n; i++) {
+			if((i + 1) % columns != 0 && i + 1 < n) {
+				us.add(i);
+				vs.add(i + 1);
+			}
+			if(i + columns < n) {
+				us.add(i);
+				vs.add(i + columns);
+			}
+		}
+		long[] pairs = new long[us.size()];
+		for(int i = 0; i < pairs.length; i++)
+			pairs[i] = pair(us.get(i), vs.get(i));
+		return pairs;
+	}
+
+	//Number of columns of the grid layout of n vertices.
+	static int gridColumns(int n) {
+		return Math.max(1, (int) Math.ceil(Math.sqrt(n)));
+	}
+
+	//Unpack the pairs and draw their weights in parallel.
+	private EdgeList toEdgeList(long[] pairs, SplittableRandom random) {
+		int m = pairs.length;
+		int[] sources = new int[m];
+		int[] targets = new int[m];
+		int[] weights = new int[m];
+		int chunks = (m + CHUNK - 1) / CHUNK;
+		SplittableRandom[] randoms = split(random, chunks);
+		long bound = (long) maxWeight - minWeight + 1;
+		ParallelRange.run(pool, 0, chunks, 1, (from, to) -> {
+			for(int c = from; c < to; c++)
+				for(int i = c * CHUNK; i < Math.min(m, (c + 1) * CHUNK); i++) {
+					sources[i] = (int) (pairs[i] >>> 32);
+					targets[i] = (int) pairs[i];
+					weights[i] = (int) (minWeight + randoms[c].nextLong(bound));
+				}
+		});
+		return new EdgeList(vertexCount, sources, targets, weights);
+	}
+
+	//Independent generators for the chunks, split one after the other so that they only depend on the seed.
+	private static SplittableRandom[] split(SplittableRandom random, int count) {
+		SplittableRandom[] randoms = new SplittableRandom[count];
+		for(int i = 0; i < count; i++)
+			randoms[i] = random.split();
+		return randoms;
+	}
+
+	//Generate a graph and write it as an edge list with one "source target weight" line per edge.
+	//Usage: GraphGenerator <GNM|GNP|SPANNING_TREE|GRID> <vertices> <edges> <seed> <output file>
+	public static void main(String[] args) throws IOException {
+		if(args.length < 5) {
+			System.err.println("Usage: GraphGenerator <GNM|GNP|SPANNING_TREE|GRID> <vertices> <edges> <seed> <output file>");
+			System.exit(1);
+		}
+		long start = System.nanoTime();
+		GraphGenerator generator = new GraphGenerator(GraphModel.valueOf(args[0]),
+				Integer.parseInt(args[1]), Long.parseLong(args[2]), Long.parseLong(args[3]));
+		EdgeList edges = generator.generateEdges();
+		long generated = System.nanoTime();
+
+		try(BufferedWriter out = Files.newBufferedWriter(Paths.get(args[4]), StandardCharsets.US_ASCII)) {
+			out.write("# " + edges.vertexCount + " " + edges.size());
+			out.newLine();
+			StringBuilder line = new StringBuilder();
+			for(int i = 0; i < edges.size(); i++) {
+				line.setLength(0);
+				line.append(edges.sources[i]).append(' ').append(edges.targets[i]).append(' ').append(edges.weights[i]);
+				out.append(line);
+				out.newLine();
+			}
+		}
+		System.out.printf("%d vertices, %d edges generated in %.0f ms, written in %.0f ms%n", edges.vertexCount, edges.size(),
+				(generated - start) / 1e6, (System.nanoTime() - generated) / 1e6);
+	}
+}
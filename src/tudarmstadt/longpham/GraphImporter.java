@@ -0,0 +1,503 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+//Bulk import of large graph files (see GraphFormat).
+//The file is cut into regions which end at a line end, every region is memory-mapped with FileChannel.map
+//and the regions are parsed in parallel straight from the mapped bytes: no lines, Strings or boxed numbers are created,
+//every region appends to its own primitive lists and the lists are concatenated at the end.
+//Parallel edges are kept, they don't change the minimum spanning tree. Self loops are dropped.
+public class GraphImporter {
+	//Nominal size of a region, the real region ends at the next line end.
+	private static final int REGION = 1 << 24;
+	//Bytes mapped for reading the header.
+	private static final int HEADER_WINDOW = 1 << 16;
+	//Weight of edges which have none in the file.
+	private static final int DEFAULT_WEIGHT = 1;
+
+	private final Path file;
+	private final GraphFormat format;
+	private final ForkJoinPool pool = ForkJoinPool.commonPool();
+
+	//Import a file whose format is guessed from the extension.
+	public GraphImporter(Path file) {
+		this(file, GraphFormat.forFile(file));
+	}
+
+	public GraphImporter(Path file, GraphFormat format) {
+		this.file = file;
+		this.format = format;
+	}
+
+	public CsrGraph load() throws IOException {
+		return loadEdges().toCsr();
+	}
+
+	EdgeList loadEdges() throws IOException {
+		try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long size = channel.size();
+			Header header = readHeader(channel, size);
+			Region[] regions = split(channel, header.dataStart, size);
+			//A METIS line belongs to a vertex by its line number, so the lines of every region are counted first.
+			if(format == GraphFormat.METIS)
+				numberVertexLines(channel, regions);
+			ParallelRange.run(pool, 0, regions.length, 1, (from, to) -> {
+				for(int r = from; r < to; r++)
+					parse(channel, regions[r], header);
+			});
+			return assemble(regions, header);
+		} catch(UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	//What is known before the regions are parsed.
+	private static final class Header {
+		//File offset of the first region.
+		long dataStart;
+		//Declared number of vertices or -1 if the file doesn't declare it.
+		int vertexCount = -1;
+		//METIS only: what the vertex lines contain besides the neighbours.
+		boolean vertexSizes;
+		boolean vertexWeights;
+		boolean edgeWeights;
+		int constraints = 1;
+	}
+
+	//Part of the file parsed by one task, together with the edges found in it.
+	private static final class Region {
+		final long start;
+		final long end;
+		//METIS only: number of vertex lines and the vertex of the first line.
+		int lines;
+		int firstVertex;
+		IntArrayList sources;
+		IntArrayList targets;
+		IntArrayList weights;
+
+		Region(long start, long end) {
+			this.start = start;
+			this.end = end;
+		}
+
+		void add(int u, int v, int weight) {
+			if(u == v)
+				return;
+			sources.add(u);
+			targets.add(v);
+			weights.add(weight);
+		}
+	}
+
+	private Header readHeader(FileChannel channel, long size) throws IOException {
+		Header header = new Header();
+		int window = (int) Math.min(size, HEADER_WINDOW);
+		Cursor in = new Cursor(channel.map(FileChannel.MapMode.READ_ONLY, 0, window), 0);
+		switch(format) {
+		case EDGE_LIST:
+			//Optional "# n m" line, data starts at 0 because the line is skipped as a comment anyway.
+			if(in.peek() == '#') {
+				in.skip();
+				if(isDigit(in.peek())) {
+					int n = in.nextInt();
+					if(isDigit(in.peek())) {
+						in.nextInt();
+						if(in.atLineEnd() && (in.nextLine() || window == size))
+							header.vertexCount = n;
+					}
+				}
+			}
+			break;
+		case DIMACS:
+			while(in.peek() != 'p') {
+				if(!in.hasMore() || (in.peek() != 'c' && in.peek() != '\n'))
+					throw new IOException("problem line \"p <kind> n m\" expected at byte " + in.position());
+				in.nextLine();
+			}
+			in.skip();
+			in.skipWord();
+			header.vertexCount = in.nextInt();
+			if(!in.nextLine() && window < size)
+				throw new IOException("problem line is too long");
+			header.dataStart = in.position();
+			break;
+		case METIS:
+			while(in.hasMore() && in.current() == '%')
+				in.nextLine();
+			if(!in.hasMore())
+				throw new IOException("header line \"n m [fmt [ncon]]\" expected at byte " + in.position());
+			header.vertexCount = in.nextInt();
+			in.nextInt();
+			int fmt = in.atLineEnd() ? 0 : in.nextInt();
+			if(!in.atLineEnd())
+				header.constraints = in.nextInt();
+			header.vertexSizes = fmt / 100 % 10 == 1;
+			header.vertexWeights = fmt / 10 % 10 == 1;
+			header.edgeWeights = fmt % 10 == 1;
+			if(!in.nextLine() && window < size)
+				throw new IOException("header line is too long");
+			header.dataStart = in.position();
+			break;
+		}
+		if(format != GraphFormat.EDGE_LIST && header.vertexCount < 0)
+			throw new IOException("negative number of vertices in the header");
+		return header;
+	}
+
+	//Cut start .. size into regions of about REGION bytes, each ending after a line end.
+	private static Region[] split(FileChannel channel, long start, long size) throws IOException {
+		int count = (int) Math.max(1, (size - start + REGION - 1) / REGION);
+		Region[] regions = new Region[count];
+		long from = start;
+		for(int r = 0; r < count; r++) {
+			long to = r == count - 1 ? size : lineStart(channel, Math.max(from, start + (long) (r + 1) * REGION), size);
+			if(to - from > Integer.MAX_VALUE)
+				throw new IOException("line longer than 2 GB at byte " + from);
+			regions[r] = new Region(from, to);
+			from = to;
+		}
+		return regions;
+	}
+
+	//Offset of the first line which starts at position or later.
+	private static long lineStart(FileChannel channel, long position, long size) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(4096);
+		//position itself starts a line if the byte before is a line end.
+		long pos = position - 1;
+		while(pos < size) {
+			buffer.clear();
+			int read = channel.read(buffer, pos);
+			if(read <= 0)
+				break;
+			for(int i = 0; i < read; i++)
+				if(buffer.get(i) == '\n')
+					return pos + i + 1;
+			pos += read;
+		}
+		return size;
+	}
+
+	private static ByteBuffer map(FileChannel channel, Region region) {
+		try {
+			return channel.map(FileChannel.MapMode.READ_ONLY, region.start, region.end - region.start);
+		} catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	//Count the vertex lines, i.e. all lines but '%' comments, of every region and number the vertices across the regions.
+	private void numberVertexLines(FileChannel channel, Region[] regions) {
+		ParallelRange.run(pool, 0, regions.length, 1, (from, to) -> {
+			for(int r = from; r < to; r++) {
+				ByteBuffer bytes = map(channel, regions[r]);
+				int lines = 0;
+				boolean lineStart = true;
+				for(int i = 0; i < bytes.limit(); i++) {
+					byte b = bytes.get(i);
+					if(lineStart && b != '%')
+						lines++;
+					lineStart = b == '\n';
+				}
+				regions[r].lines = lines;
+			}
+		});
+		int vertex = 0;
+		for(Region region : regions) {
+			region.firstVertex = vertex;
+			vertex += region.lines;
+		}
+	}
+
+	private void parse(FileChannel channel, Region region, Header header) {
+		Cursor in = new Cursor(map(channel, region), region.start);
+		//About one edge per 16 bytes, the lists grow if there are more.
+		int expected = (int) ((region.end - region.start) / 16);
+		region.sources = new IntArrayList(expected);
+		region.targets = new IntArrayList(expected);
+		region.weights = new IntArrayList(expected);
+		switch(format) {
+		case EDGE_LIST:
+			parseEdgeList(in, region);
+			break;
+		case DIMACS:
+			parseDimacs(in, region);
+			break;
+		case METIS:
+			parseMetis(in, region, header);
+			break;
+		}
+	}
+
+	//"source target [weight]", columns after the weight are ignored.
+	private static void parseEdgeList(Cursor in, Region region) {
+		while(in.hasMore()) {
+			int c = in.peek();
+			if(c != '\n' && c != '#' && c != '%') {
+				int u = in.nextInt();
+				int v = in.nextInt();
+				region.add(u, v, in.atLineEnd() ? DEFAULT_WEIGHT : in.nextInt());
+			}
+			in.nextLine();
+		}
+	}
+
+	//"a u v w" or "e u v [w]" with vertices 1 .. n, 'c' lines are comments.
+	private static void parseDimacs(Cursor in, Region region) {
+		while(in.hasMore()) {
+			int c = in.peek();
+			if(c == 'a' || c == 'e') {
+				in.skip();
+				int u = in.nextInt() - 1;
+				int v = in.nextInt() - 1;
+				region.add(u, v, in.atLineEnd() ? DEFAULT_WEIGHT : in.nextInt());
+			} else if(c != 'c' && c != '\n') {
+				throw in.malformed("unexpected line");
+			}
+			in.nextLine();
+		}
+	}
+
+	//Line i lists the neighbours of vertex i, every edge is listed by both of its vertices and only kept once.
+	private static void parseMetis(Cursor in, Region region, Header header) {
+		int n = header.vertexCount;
+		int vertex = region.firstVertex;
+		while(in.hasMore()) {
+			if(in.current() == '%') {
+				in.nextLine();
+				continue;
+			}
+			if(vertex >= n) {
+				//Only blank lines may follow the last vertex.
+				if(!in.atLineEnd())
+					throw in.malformed("more than " + n + " vertex lines");
+			} else {
+				if(header.vertexSizes)
+					in.nextInt();
+				if(header.vertexWeights)
+					for(int i = 0; i < header.constraints; i++)
+						in.nextInt();
+				while(!in.atLineEnd()) {
+					int v = in.nextInt() - 1;
+					int weight = header.edgeWeights ? in.nextInt() : DEFAULT_WEIGHT;
+					if(v < 0 || v >= n)
+						throw in.malformed("neighbour " + (v + 1) + " is not a vertex");
+					if(vertex < v)
+						region.add(vertex, v, weight);
+				}
+			}
+			vertex++;
+			in.nextLine();
+		}
+	}
+
+	//Concatenate the edges of all regions and number the vertices.
+	private EdgeList assemble(Region[] regions, Header header) throws IOException {
+		int[] offsets = new int[regions.length + 1];
+		long total = 0;
+		for(int r = 0; r < regions.length; r++) {
+			total += regions[r].sources.size();
+			if(total > Integer.MAX_VALUE - 8)
+				throw new IOException("more than " + (Integer.MAX_VALUE - 8) + " edges");
+			offsets[r + 1] = (int) total;
+		}
+		int m = (int) total;
+		int[] sources = new int[m];
+		int[] targets = new int[m];
+		int[] weights = new int[m];
+		ParallelRange.run(pool, 0, regions.length, 1, (from, to) -> {
+			for(int r = from; r < to; r++) {
+				regions[r].sources.copyTo(sources, offsets[r]);
+				regions[r].targets.copyTo(targets, offsets[r]);
+				regions[r].weights.copyTo(weights, offsets[r]);
+				regions[r].sources = regions[r].targets = regions[r].weights = null;
+			}
+		});
+
+		int n = header.vertexCount;
+		if(n < 0)
+			n = renumber(sources, targets);
+		else
+			checkVertices(n, sources, targets);
+		return new EdgeList(n, sources, targets, weights);
+	}
+
+	//Number the distinct vertex IDs 0 .. n-1 in increasing order and return n.
+	private int renumber(int[] sources, int[] targets) throws IOException {
+		int m = sources.length;
+		if(m > (Integer.MAX_VALUE - 8) / 2)
+			throw new IOException("too many edges to number the vertices, please add a \"# n m\" header");
+		int[] ids = new int[2 * m];
+		System.arraycopy(sources, 0, ids, 0, m);
+		System.arraycopy(targets, 0, ids, m, m);
+		Arrays.parallelSort(ids);
+		int n = 0;
+		for(int i = 0; i < ids.length; i++)
+			if(n == 0 || ids[i] != ids[n - 1])
+				ids[n++] = ids[i];
+		//Already numbered 0 .. n-1.
+		if(n == 0 || (ids[0] == 0 && ids[n - 1] == n - 1))
+			return n;
+
+		int count = n;
+		int min = ids[0];
+		long range = (long) ids[n - 1] - min + 1;
+		if(range <= 4L * n) {
+			//IDs close together, look them up in a table instead of searching.
+			int[] table = new int[(int) range];
+			for(int i = 0; i < n; i++)
+				table[ids[i] - min] = i;
+			ParallelRange.run(pool, 0, m, (from, to) -> {
+				for(int i = from; i < to; i++) {
+					sources[i] = table[sources[i] - min];
+					targets[i] = table[targets[i] - min];
+				}
+			});
+			return n;
+		}
+		ParallelRange.run(pool, 0, m, (from, to) -> {
+			for(int i = from; i < to; i++) {
+				sources[i] = Arrays.binarySearch(ids, 0, count, sources[i]);
+				targets[i] = Arrays.binarySearch(ids, 0, count, targets[i]);
+			}
+		});
+		return n;
+	}
+
+	private void checkVertices(int n, int[] sources, int[] targets) {
+		//Vertices are reported the way they are numbered in the file.
+		int first = format == GraphFormat.EDGE_LIST ? 0 : 1;
+		ParallelRange.run(pool, 0, sources.length, (from, to) -> {
+			for(int i = from; i < to; i++)
+				if(sources[i] < 0 || sources[i] >= n || targets[i] < 0 || targets[i] >= n)
+					throw new UncheckedIOException(new IOException("edge (" + (sources[i] + first) + ", " + (targets[i] + first)
+							+ ") has a vertex outside of " + first + " .. " + (n - 1 + first)));
+		});
+	}
+
+	private static boolean isDigit(int c) {
+		return c >= '0' && c <= '9';
+	}
+
+	//Reads the mapped bytes of one region, base is the file offset of the first byte for the error messages.
+	private static final class Cursor {
+		private final ByteBuffer bytes;
+		private final long base;
+		private final int limit;
+		private int pos;
+
+		Cursor(ByteBuffer bytes, long base) {
+			this.bytes = bytes;
+			this.base = base;
+			this.limit = bytes.limit();
+		}
+
+		boolean hasMore() {
+			return pos < limit;
+		}
+
+		long position() {
+			return base + pos;
+		}
+
+		//The byte at the cursor without skipping blanks.
+		int current() {
+			return bytes.get(pos);
+		}
+
+		//The next byte which is not a blank, or '\n' at the end of the line and of the region.
+		int peek() {
+			skipBlanks();
+			return pos < limit ? bytes.get(pos) : '\n';
+		}
+
+		boolean atLineEnd() {
+			return peek() == '\n';
+		}
+
+		void skip() {
+			pos++;
+		}
+
+		void skipWord() {
+			skipBlanks();
+			while(pos < limit && !isBlank(bytes.get(pos)) && bytes.get(pos) != '\n')
+				pos++;
+		}
+
+		//Move to the start of the next line and tell whether a line end was found.
+		boolean nextLine() {
+			while(pos < limit)
+				if(bytes.get(pos++) == '\n')
+					return true;
+			return false;
+		}
+
+		int nextInt() {
+			skipBlanks();
+			boolean negative = false;
+			if(pos < limit && (bytes.get(pos) == '-' || bytes.get(pos) == '+'))
+				negative = bytes.get(pos++) == '-';
+			int start = pos;
+			long value = 0;
+			while(pos < limit) {
+				int digit = bytes.get(pos) - '0';
+				if(digit < 0 || digit > 9)
+					break;
+				value = value * 10 + digit;
+				if(value > Integer.MAX_VALUE + 1L)
+					throw malformed("number too large");
+				pos++;
+			}
+			if(pos == start || (pos < limit && !isBlank(bytes.get(pos)) && bytes.get(pos) != '\n'))
+				throw malformed("integer expected");
+			if(negative)
+				value = -value;
+			if(value > Integer.MAX_VALUE)
+				throw malformed("number too large");
+			return (int) value;
+		}
+
+		UncheckedIOException malformed(String message) {
+			return new UncheckedIOException(new IOException(message + " at byte " + position()));
+		}
+
+		private void skipBlanks() {
+			while(pos < limit && isBlank(bytes.get(pos)))
+				pos++;
+		}
+
+		private static boolean isBlank(byte b) {
+			return b == ' ' || b == '\t' || b == '\r';
+		}
+	}
+
+	//Import a file and print its size, e.g. for timing the import of big files.
+	//Usage: GraphImporter <file> [EDGE_LIST|DIMACS|METIS]
+	public static void main(String[] args) throws IOException {
+		if(args.length < 1) {
+			System.err.println("Usage: GraphImporter <file> [EDGE_LIST|DIMACS|METIS]");
+			System.exit(1);
+		}
+		Path path = Paths.get(args[0]);
+		GraphFormat format = args.length > 1 ? GraphFormat.valueOf(args[1]) : GraphFormat.forFile(path);
+		long start = System.nanoTime();
+		EdgeList edges = new GraphImporter(path, format).loadEdges();
+		System.out.printf("%d vertices, %d edges imported in %.0f ms%n", edges.vertexCount, edges.size(),
+				(System.nanoTime() - start) / 1e6);
+	}
+}
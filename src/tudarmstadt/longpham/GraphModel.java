@@ -0,0 +1,31 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+//Random graph models of GraphGenerator.
+public enum GraphModel {
+	//Exactly the requested number of distinct edges, chosen uniformly (Erdos-Renyi G(n, m)).
+	GNM("G(n, m)"),
+	//Every pair is an edge with the same probability, chosen so that the requested number of edges is expected (G(n, p)).
+	GNP("G(n, p)"),
+	//A random spanning tree plus uniformly chosen extra edges, so the graph is always connected.
+	SPANNING_TREE("Spanning tree + extra edges"),
+	//Vertices on a square grid, each connected to its right and lower neighbour. The number of edges follows from the grid.
+	GRID("Grid");
+
+	private final String title;
+
+	GraphModel(String title) {
+		this.title = title;
+	}
+
+	@Override
+	public String toString() {
+		return title;
+	}
+}
@@ -7,36 +7,53 @@
 
 package tudarmstadt.longpham;
 
+import java.awt.AlphaComposite;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.Font;
 import java.awt.FontMetrics;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GridLayout;
 import java.awt.Point;
 import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseMotionAdapter;
+import java.awt.event.MouseWheelEvent;
+import java.nio.file.Path;
+import java.util.AbstractList;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Random;
+import java.util.RandomAccess;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.AbstractAction;
 import javax.swing.Action;
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JComboBox;
 import javax.swing.JComponent;
+import javax.swing.JFileChooser;
 import javax.swing.JLabel;
 import javax.swing.JMenuItem;
 import javax.swing.JOptionPane;
+import javax.swing.JPanel;
 import javax.swing.JPopupMenu;
+import javax.swing.JSlider;
 import javax.swing.JSpinner;
+import javax.swing.JTextField;
 import javax.swing.JToolBar;
+import javax.swing.Scrollable;
 import javax.swing.SpinnerNumberModel;
+import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
 import javax.swing.SwingWorker;
 import javax.swing.Timer;
 import javax.swing.event.ChangeEvent;
@@ -46,17 +63,100 @@ import javax.swing.event.ChangeListener;
 //based on GraphPanel example by John B. Matthews
 //https://sites.google.com/site/drjohnbmatthews/graphpanel
 
-public class GraphPanel extends JComponent{
+public class GraphPanel extends JComponent implements Scrollable {
 	private static final int WIDTH = 800;
 	private static final int HEIGHT = 600;
 	private static final int SPEED = 5000;
+	private static final String PRIM = "Prim";
+	private static final String KRUSKAL = "Kruskal";
+	private static final String FILTER_KRUSKAL = "Filter-Kruskal";
+	//Playback modes: one step per timer tick, as many steps per frame as TURBO_BUDGET allows,
+	//or only the result computed in the background.
+	private static final String STEP_BY_STEP = "Step by step";
+	private static final String TURBO = "Turbo";
+	private static final String RESULT_ONLY = "Result only";
+	//Time in nanoseconds a turbo frame may spend on applying steps, the rest of the frame is left for painting and input.
+	private static final long TURBO_BUDGET = 8000000;
 	private static final Random rnd = new Random();
+	//Distance between neighbours of a generated grid.
+	private static final int GRID_SPACING = 60;
+	private static final Color BACKGROUND = new Color(0x00f0f0f0);
+	private static final double MIN_ZOOM = 0.001;
+	private static final double MAX_ZOOM = 8;
+	//Zoom factor of one mouse wheel notch.
+	private static final double ZOOM_STEP = 1.25;
+	//Below this zoom vertex names and edge weights are too small to read, so they are not drawn.
+	private static final double LABEL_ZOOM = 0.5;
+	//With more visible vertices than this the vertex layer shows density tiles instead of vertices and edges.
+	private static final int MAX_DRAWN_VERTICES = 20000;
+	//Size of a density tile in pixels.
+	private static final int TILE_SIZE = 8;
+	//Stats overlay, only drawn with -Dmst.stats=true.
+	private static final Font STATS_FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+	private static final int STATS_LINE_HEIGHT = 15;
+	private static final Rectangle STATS_BOUNDS = new Rectangle(0, 0, 560, 4 * STATS_LINE_HEIGHT + 6);
+	private static final Color STATS_BACKGROUND = new Color(255, 255, 255, 200);
+	//Motion events are coalesced into one drag update per frame of this many milliseconds.
+	private static final int FRAME = 16;
 	
 	protected ControlPanel control = new ControlPanel();
 	
-	private List<Vertex> vertices = new ArrayList<Vertex>();
+	//Every vertex and edge lives in the arrays of store, the panel only handles views of them (see Element).
+	private GraphStore store = new GraphStore();
+	private List<Vertex> vertices = new VertexViews();
+	//The selected vertices in the order they were selected, kept up to date by the select methods
+	//so that clearing or moving the selection doesn't look at every vertex.
 	private List<Vertex> selectedVertices = new ArrayList<Vertex>();
-	private List<Edge> edges = new ArrayList<Edge>();
+	private List<Edge> edges = new EdgeViews();
+	//Position of every vertex in vertices list by its ID.
+	private IdIndexTable vertexIndex = new IdIndexTable();
+	//The IDs in use, new vertices get the smallest free one.
+	private IdAllocator vertexIds = new IdAllocator();
+	//Position of every edge in edges list by the unordered pair of its vertex IDs.
+	private LongIntHashMap edgeIndex = new LongIntHashMap(-1);
+	//Tree found by the last run of Find MST, vertices are positions in vertices list. null when the graph changed since.
+	private MSTResult lastMST;
+	//Counts the changes of the graph and of the start vertex, a recorded run is only replayed while it stays the same.
+	private int modifications;
+	//While "Keep MST" is checked every edit of the graph is passed on to dynamicMST, which recolors the tree edges
+	//that change instead of computing the whole tree again. null otherwise.
+	private DynamicMST dynamicMST;
+	//Vertex IDs by the position of the vertices, for hit-testing the mouse without looking at every vertex.
+	private SpatialGrid vertexGrid = new SpatialGrid(4 * Vertex.RADIUS);
+	//Vertex IDs found by the last query of vertexGrid.
+	private IntArrayList nearbyVertices = new IntArrayList();
+	
+	//Cached layers of the panel, drawn with every vertex and edge in its default look:
+	//edgeLayer holds the background and the edges, vertexLayer the vertices on a transparent image.
+	//They are only drawn again when the geometry changes (vertices or edges added, removed or moved, weights changed).
+	private BufferedImage edgeLayer;
+	private BufferedImage vertexLayer;
+	private boolean layersValid = false;
+	//Vertices and edges which don't look like in the layers (colored, selected, the start vertex).
+	//Only they are drawn on top of the layers in each repaint.
+	private List<Vertex> highlightedVertices = new VertexViews();
+	private List<Edge> highlightedEdges = new EdgeViews();
+	//Vertex IDs in the visible part of the panel, found while rendering the layers.
+	private IntArrayList visibleVertices = new IntArrayList();
+	
+	//The panel shows the plane of the vertex coordinates (the world) from (viewX, viewY) on, scaled by zoom:
+	//a vertex at p is drawn at ((p.x - viewX) * zoom, (p.y - viewY) * zoom).
+	private double zoom = 1;
+	private double viewX = 0;
+	private double viewY = 0;
+	//Last mouse position on the screen while the view is dragged.
+	private Point panPoint;
+	//Union of the world bounds of the elements whose color changed since the last repaintDirty(), or null.
+	private Rectangle dirty;
+	
+	//While selected vertices are dragged they and their edges are lifted out of the cached layers
+	//and drawn on top, so the layers stay valid during the whole drag.
+	private boolean dragging = false;
+	//Edges incident to the dragged vertices, each one once.
+	private List<Edge> draggedEdges = new ArrayList<Edge>();
+	//Where the mouse was dragged to in world coordinates, applied once per frame by dragTimer.
+	private Point dragTarget;
+	private Timer dragTimer;
 	
 	private int speed = SPEED;
 	private Point mousePt = new Point(WIDTH /2, HEIGHT / 2);
@@ -65,10 +165,19 @@ public class GraphPanel extends JComponent{
 	private boolean runningAlgorithm = false;
 	
 	private Timer timer;
+	//Computes the result in RESULT_ONLY mode, null if none is running.
+	private SwingWorker<MSTResult, Void> mstWorker;
+	//The recorded run the animation plays, traceStep of its steps are shown.
+	private StepTrace trace;
+	private int traceStep;
+	//Colors of the StepTrace color codes, DEFAULT depends on the element.
+	private static final Color[] TRACE_COLORS = {null, Color.BLACK, Color.GREEN, Color.BLUE, Color.RED};
 	
 	protected GraphPanel(){
 		this.setOpaque(true);
-		this.addMouseListener(new MouseHandler());
+		MouseHandler mouseHandler = new MouseHandler();
+		this.addMouseListener(mouseHandler);
+		this.addMouseWheelListener(mouseHandler);
 		this.addMouseMotionListener(new MouseMotionHandler());		
 	}
 	
@@ -77,27 +186,145 @@ public class GraphPanel extends JComponent{
 		return new Dimension(WIDTH, HEIGHT);
 	}
 	
+	//The panel zooms and pans by itself, so it always fills the viewport of its scroll pane.
+	@Override
+	public Dimension getPreferredScrollableViewportSize() {
+		return getPreferredSize();
+	}
+	
+	@Override
+	public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+		return 10;
+	}
+	
+	@Override
+	public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+		return orientation == SwingConstants.HORIZONTAL ? visibleRect.width : visibleRect.height;
+	}
+	
+	@Override
+	public boolean getScrollableTracksViewportWidth() {
+		return true;
+	}
+	
+	@Override
+	public boolean getScrollableTracksViewportHeight() {
+		return true;
+	}
+	
+	//The cached layers are blitted and only the highlighted vertices and edges inside the clip are drawn on top,
+	//so a repaint doesn't depend on the size of the graph unless the geometry or the view changed.
 	@Override
 	public void paintComponent(Graphics g){
+		long paintStart = MSTStats.ENABLED ? System.nanoTime() : 0;
+		if(!layersValid || edgeLayer.getWidth() != getWidth() || edgeLayer.getHeight() != getHeight())
+			renderLayers();
 		
-		g.setColor(new Color(0x00f0f0f0));
-		g.fillRect(0, 0, getWidth(), getHeight());		
-		for(Edge e : edges) {
-			e.draw(g);
+		Rectangle clip = g.getClipBounds();
+		Rectangle visible = toWorld(clip != null ? clip : new Rectangle(0, 0, getWidth(), getHeight()));
+		boolean labels = zoom >= LABEL_ZOOM;
+		Graphics2D world = (Graphics2D) g.create();
+		applyView(world);
+		
+		g.drawImage(edgeLayer, 0, 0, null);
+		for(Edge e : highlightedEdges) {
+			if(e.intersects(visible))
+				e.draw(world, labels);
+		}
+		//The highlighted dragged edges are drawn above already.
+		for(Edge e : draggedEdges) {
+			if(e.isDefault() && e.intersects(visible))
+				e.draw(world, labels);
 		}
-		for(Vertex v : vertices) {
-			v.draw(g);
+		g.drawImage(vertexLayer, 0, 0, null);
+		FontMetrics metrics = getFontMetrics(Vertex.FONT);
+		for(Vertex v : highlightedVertices) {
+			if(v.intersects(visible))
+				v.draw(world, metrics, labels);
 		}
 		if(selecting) {
-			g.setColor(Color.DARK_GRAY);
-			g.drawRect(mouseRect.x, mouseRect.y, mouseRect.width, mouseRect.height);
+			world.setColor(Color.DARK_GRAY);
+			world.drawRect(mouseRect.x, mouseRect.y, mouseRect.width, mouseRect.height);
+		}
+		world.dispose();
+		if(MSTStats.ENABLED) {
+			drawStats(g);
+			MSTStats.PAINT_LATENCY.record(System.nanoTime() - paintStart);
 		}
 	}
 	
+	//The live counters of MSTStats in the top left corner of the panel.
+	private void drawStats(Graphics g) {
+		g.setColor(STATS_BACKGROUND);
+		g.fillRect(STATS_BOUNDS.x, STATS_BOUNDS.y, STATS_BOUNDS.width, STATS_BOUNDS.height);
+		g.setColor(Color.BLACK);
+		g.setFont(STATS_FONT);
+		int y = STATS_BOUNDS.y;
+		for(String line: MSTStats.summary()) {
+			y += STATS_LINE_HEIGHT;
+			g.drawString(line, STATS_BOUNDS.x + 4, y);
+		}
+	}
+	
+	//From drawing in world coordinates to the screen.
+	private void applyView(Graphics2D g) {
+		g.scale(zoom, zoom);
+		g.translate(-viewX, -viewY);
+	}
+	
+	private Point toWorld(Point screen) {
+		return new Point((int) Math.floor(viewX + screen.x / zoom), (int) Math.floor(viewY + screen.y / zoom));
+	}
+	
+	//The world rectangle shown in a rectangle of the screen.
+	private Rectangle toWorld(Rectangle screen) {
+		int x0 = (int) Math.floor(viewX + screen.x / zoom);
+		int y0 = (int) Math.floor(viewY + screen.y / zoom);
+		int x1 = (int) Math.ceil(viewX + (screen.x + screen.width) / zoom);
+		int y1 = (int) Math.ceil(viewY + (screen.y + screen.height) / zoom);
+		return new Rectangle(x0, y0, x1 - x0, y1 - y0);
+	}
+	
+	//Zoom by factor while the world point under the screen point stays where it is.
+	private void zoomAt(Point screen, double factor) {
+		double worldX = viewX + screen.x / zoom;
+		double worldY = viewY + screen.y / zoom;
+		zoom = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom * factor));
+		viewX = worldX - screen.x / zoom;
+		viewY = worldY - screen.y / zoom;
+		invalidateLayers();
+		repaint();
+	}
+	
+	//Zoom and pan so that all vertices are visible, without zooming in.
+	private void fitView() {
+		if(vertices.isEmpty())
+			return;
+		int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+		for(Vertex v: vertices) {
+			minX = Math.min(minX, v.x());
+			minY = Math.min(minY, v.y());
+			maxX = Math.max(maxX, v.x());
+			maxY = Math.max(maxY, v.y());
+		}
+		double width = (double) maxX - minX + 4 * Vertex.RADIUS;
+		double height = (double) maxY - minY + 4 * Vertex.RADIUS;
+		int panelWidth = getWidth() > 0 ? getWidth() : WIDTH;
+		int panelHeight = getHeight() > 0 ? getHeight() : HEIGHT;
+		zoom = Math.max(MIN_ZOOM, Math.min(1, Math.min(panelWidth / width, panelHeight / height)));
+		viewX = (minX + maxX) / 2.0 - panelWidth / zoom / 2;
+		viewY = (minY + maxY) / 2.0 - panelHeight / zoom / 2;
+		invalidateLayers();
+		repaint();
+	}
+	
 	private class MouseHandler extends MouseAdapter {
 		
 		@Override
 		public void mouseReleased(MouseEvent e) {
+			if(dragging)
+				endDrag();
+			panPoint = null;
 			selecting = false;
 			mouseRect.setBounds(0, 0, 0, 0);
 			if(e.isPopupTrigger()) {
@@ -108,16 +335,21 @@ public class GraphPanel extends JComponent{
 		
 		@Override
 		public void mousePressed(MouseEvent e) {
-			mousePt = e.getPoint();
+			//The middle button, or the left one with Shift, drags the view.
+			if(SwingUtilities.isMiddleMouseButton(e) || (e.isShiftDown() && SwingUtilities.isLeftMouseButton(e))) {
+				panPoint = e.getPoint();
+				return;
+			}
+			mousePt = toWorld(e.getPoint());
 			if(e.isControlDown()) {
-				Vertex.selectToggle(vertices, mousePt);
+				selectToggle(mousePt);
 			} else if (e.isPopupTrigger()) {
-				Vertex.selectOne(vertices, mousePt);
+				selectOne(mousePt);
 				showPopup(e);
-			} else if (Vertex.selectOne(vertices,  mousePt) != -1) {
+			} else if (selectOne(mousePt) != -1) {
 				selecting = false;
 			} else {
-				Vertex.selectNone(vertices);
+				selectNone();
 				selecting = true;
 			}
 			e.getComponent().repaint();
@@ -127,29 +359,42 @@ public class GraphPanel extends JComponent{
 			if(!runningAlgorithm)
 				control.popup.show(e.getComponent(), e.getX(), e.getY());
 		}
+		
+		@Override
+		public void mouseWheelMoved(MouseWheelEvent e) {
+			zoomAt(e.getPoint(), Math.pow(ZOOM_STEP, -e.getPreciseWheelRotation()));
+		}
 	}
 	
 	private class MouseMotionHandler extends MouseMotionAdapter {
 		
-		Point delta = new Point();
-		
 		@Override
 		public void mouseDragged(MouseEvent e) {
+			if(panPoint != null) {
+				viewX -= (e.getX() - panPoint.x) / zoom;
+				viewY -= (e.getY() - panPoint.y) / zoom;
+				panPoint = e.getPoint();
+				invalidateLayers();
+				e.getComponent().repaint();
+				return;
+			}
+			Point p = toWorld(e.getPoint());
 			if(selecting) {
 				mouseRect.setBounds(
-						Math.min(mousePt.x, e.getX()),
-						Math.min(mousePt.y, e.getY()),
-						Math.abs(mousePt.x - e.getX()),
-						Math.abs(mousePt.y - e.getY()));
-				Vertex.selectRect(vertices, mouseRect);
-			} else {
-				delta.setLocation(
-						e.getX() - mousePt.x,
-						e.getY() - mousePt.y);
-				Vertex.updatePosition(vertices, delta);
-				mousePt = e.getPoint();
+						Math.min(mousePt.x, p.x),
+						Math.min(mousePt.y, p.y),
+						Math.abs(mousePt.x - p.x),
+						Math.abs(mousePt.y - p.y));
+				selectRect(mouseRect);
+				e.getComponent().repaint();
+			} else if(!selectedVertices.isEmpty()) {
+				//Only remember the point, the vertices follow it at the next frame.
+				if(!dragging)
+					beginDrag();
+				dragTarget = p;
+				if(!dragTimer.isRunning())
+					dragTimer.start();
 			}
-			e.getComponent().repaint();
 		}
 	}
 
@@ -158,20 +403,35 @@ public class GraphPanel extends JComponent{
 		private Action newVertex = new NewVertexAction("New Vertex");
 		private Action clearAll = new ClearAction("Clear");
 		private Action random = new RandomAction("Random");
+		private Action generate = new GenerateAction("Generate");
+		private Action importGraph = new ImportAction("Import");
+		private Action save = new SaveAction("Save");
+		private Action load = new LoadAction("Load");
 		private Action delete = new DeleteAction("Delete");
 		private Action connect = new ConnectAction("Connect");
 		private Action startVertex = new StartVertexAction("Start Vertex");
+		private Action fit = new FitAction("Fit");
 		private Action findMST = new FindMSTAction("Find MST");
 		private Action stop = new StopAction("Stop");
 		
 		protected JButton defaultButton = new JButton(newVertex);
 		private JButton clearAllButton = new JButton(clearAll);
 		private JButton randomButton = new JButton(random);
+		private JButton generateButton = new JButton(generate);
+		private JButton importButton = new JButton(importGraph);
+		private JButton saveButton = new JButton(save);
+		private JButton loadButton = new JButton(load);
 		private JButton connectButton = new JButton(connect);
 		private JButton startVertexButton = new JButton(startVertex);
+		private JButton fitButton = new JButton(fit);
 		private JSpinner js = new JSpinner();
+		private JComboBox<String> algorithm = new JComboBox<String>(new String[] {PRIM, KRUSKAL, FILTER_KRUSKAL});
+		private JComboBox<String> mode = new JComboBox<String>(new String[] {STEP_BY_STEP, TURBO, RESULT_ONLY});
 		private JButton findMSTButton = new JButton(findMST);
 		private JButton stopButton = new JButton(stop);		
+		private JCheckBox keepMST = new JCheckBox("Keep MST");
+		//Seeks the animation to a step, from 0 (nothing shown) to the number of steps of the run.
+		private JSlider stepSlider = new JSlider(0, 0, 0);
 		private JPopupMenu popup = new JPopupMenu();
 		
 		protected ControlPanel(){
@@ -181,8 +441,13 @@ public class GraphPanel extends JComponent{
 			this.add(defaultButton);
 			this.add(clearAllButton);
 			this.add(randomButton);
+			this.add(generateButton);
+			this.add(importButton);
+			this.add(saveButton);
+			this.add(loadButton);
 			this.add(connectButton);
 			this.add(startVertexButton);
+			this.add(fitButton);
             
             js.setModel(new SpinnerNumberModel(SPEED, 1000, 10000, 1000));
             js.addChangeListener(new ChangeListener() {
@@ -194,10 +459,37 @@ public class GraphPanel extends JComponent{
             });
             this.add(new JLabel("Speed:"));
             this.add(js);			
+			this.add(mode);
+			this.add(algorithm);
 			this.add(findMSTButton);
 			this.add(stopButton);
 			
+			keepMST.setOpaque(false);
+			keepMST.addActionListener(new ActionListener() {
+				@Override
+				public void actionPerformed(ActionEvent e) {
+					if(keepMST.isSelected())
+						startDynamicMST();
+					else
+						stopDynamicMST();
+					repaint();
+				}
+			});
+			this.add(keepMST);
+			
+			stepSlider.addChangeListener(new ChangeListener() {
+				@Override
+				public void stateChanged(ChangeEvent e) {
+					//The timer moves the slider along, then the animation is at that step already.
+					if(trace != null && stepSlider.getValue() != traceStep)
+						seek(stepSlider.getValue());
+				}
+			});
+			this.add(new JLabel("Step:"));
+			this.add(stepSlider);
+			
 			stopButton.setEnabled(false);
+			stepSlider.setEnabled(false);
 			
 			popup.add(new JMenuItem(newVertex));
 			popup.add(new JMenuItem(connect));
@@ -215,11 +507,10 @@ public class GraphPanel extends JComponent{
 
 		@Override
 		public void actionPerformed(ActionEvent e) {
-			Vertex.selectNone(vertices);
+			selectNone();
 			Point p = mousePt.getLocation();
-			Vertex v = new Vertex(p, vertices);
-			v.setSelected(true);
-			vertices.add(v);
+			Vertex v = addVertex(vertexIds.allocate(), p);
+			select(v, true);
 			repaint();				
 		}
 	}
@@ -233,12 +524,25 @@ public class GraphPanel extends JComponent{
 		
 		@Override
 		public void actionPerformed(ActionEvent e) {
-			vertices.clear();
-			edges.clear();
+			clearGraph();
+			startDynamicMSTIfKept();
 			repaint();
 		}	
 	}
 	
+	//Zoom and pan so that the whole graph is visible.
+	private class FitAction extends AbstractAction {
+		
+		public FitAction(String name) {
+			super(name);
+		}
+		
+		@Override
+		public void actionPerformed(ActionEvent e) {
+			fitView();
+		}
+	}
+	
 	//Create 8 vertices and 14 edges connected vertices with weight ranging from 1 - 20
 	//Then choose a vertex as start vertex.
 	private class RandomAction extends AbstractAction {
@@ -249,66 +553,195 @@ public class GraphPanel extends JComponent{
 		
 		@Override
 		public void actionPerformed(ActionEvent e) {
+			new RandomWorker(GraphModel.GNM, 8, 14, rnd.nextLong()).execute();
+		}
+	}
+	
+	//Generate a random graph whose model, size and seed are chosen in a dialog.
+	private class GenerateAction extends AbstractAction {
+		private JComboBox<GraphModel> model = new JComboBox<GraphModel>(GraphModel.values());
+		private JSpinner vertexCount = new JSpinner(new SpinnerNumberModel(100, 1, 10000000, 10));
+		private JSpinner edgeCount = new JSpinner(new SpinnerNumberModel(300, 0, Integer.MAX_VALUE, 10));
+		private JTextField seed = new JTextField("42");
+		
+		public GenerateAction(String name) {
+			super(name);
+		}
+		
+		@Override
+		public void actionPerformed(ActionEvent e) {
+			JPanel form = new JPanel(new GridLayout(0, 2, 5, 5));
+			form.add(new JLabel("Model:"));
+			form.add(model);
+			form.add(new JLabel("Vertices:"));
+			form.add(vertexCount);
+			form.add(new JLabel("Edges:"));
+			form.add(edgeCount);
+			form.add(new JLabel("Seed:"));
+			form.add(seed);
+			if(JOptionPane.showConfirmDialog(GraphPanel.this, form, "Generate graph", JOptionPane.OK_CANCEL_OPTION)
+					!= JOptionPane.OK_OPTION)
+				return;
+			try {
+				new RandomWorker((GraphModel) model.getSelectedItem(), (Integer) vertexCount.getValue(),
+						(Integer) edgeCount.getValue(), Long.parseLong(seed.getText().trim())).execute();
+			} catch(NumberFormatException ex) {
+				JOptionPane.showMessageDialog(GraphPanel.this, "Please enter the number only!");
+			}
+		}
+	}
+	
+	//Because of the heavy task while generating a big graph
+	//it's necessary to create the worker for avoiding delay on Event Dispatcher Thread.
+	//The edges are generated in the background, the vertices and edges lists are only replaced when it is done.
+	private class RandomWorker extends SwingWorker<EdgeList, Void> {
+		private final GraphModel model;
+		private final int vertexCount;
+		private final int edgeCount;
+		private final long seed;
+		
+		public RandomWorker(GraphModel model, int vertexCount, int edgeCount, long seed) {
+			this.model = model;
+			this.vertexCount = vertexCount;
+			this.edgeCount = edgeCount;
+			this.seed = seed;
+		}
+		
+		@Override
+		protected EdgeList doInBackground() throws Exception {
+			return new GraphGenerator(model, vertexCount, edgeCount, seed).generateEdges();
+		}
+		
+		//When heavy task is done, put the graph into the panel and repaint the frame.
+		@Override
+		protected void done(){
+			EdgeList graph;
+			try {
+				graph = get();
+			} catch(InterruptedException | ExecutionException ex) {
+				Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+				JOptionPane.showMessageDialog(GraphPanel.this, "Could not generate the graph: " + cause.getMessage());
+				return;
+			}
 			
-			//Because of the heavy task while generating a non-match edges
-			//it's necessary to create the worker for avoiding delay on Event Dispatcher Thread
-			RandomWorker worker = new RandomWorker();
-			worker.execute();
+			showGraph(graph, model == GraphModel.GRID, new Random(seed));
 		}
+	}
+	
+	//Import a graph file (edge list, DIMACS or METIS, chosen by the file extension) in the background.
+	private class ImportAction extends AbstractAction {
+		private JFileChooser chooser = new JFileChooser();
 		
-		//For making sure that the edge which is just generated are the same with the previous ones
-		private boolean isThisEdgeGenerated(int v1, int v2, int[][] edgesMatrix, int currentSize){
-			for(int i = 0 ; i < currentSize; i++)
-				if(v1 == edgesMatrix[i][0] && v2 == edgesMatrix[i][1]
-				|| v1 == edgesMatrix[i][1] && v2 == edgesMatrix[i][0])
-					return true;
-			return false;
+		public ImportAction(String name) {
+			super(name);
 		}
 		
-		private class RandomWorker extends SwingWorker {
-			@Override
-			protected Object doInBackground() throws Exception {
-				vertices.clear();
-				edges.clear();
-				
-				Random rnd = new Random();
-				//Generate 8 vertices
-				for (int i = 0 ; i < 8; i++) {
-					Point p = new Point(rnd.nextInt(getWidth()), rnd.nextInt(getHeight()));
-					vertices.add(new Vertex(p, vertices));
+		@Override
+		public void actionPerformed(ActionEvent e) {
+			if(chooser.showOpenDialog(GraphPanel.this) != JFileChooser.APPROVE_OPTION)
+				return;
+			Path file = chooser.getSelectedFile().toPath();
+			new ImportWorker(file).execute();
+		}
+	}
+	
+	//Reading a big file takes long, so it is parsed off the Event Dispatcher Thread like the random graphs.
+	private class ImportWorker extends SwingWorker<EdgeList, Void> {
+		private final Path file;
+		
+		public ImportWorker(Path file) {
+			this.file = file;
+		}
+		
+		@Override
+		protected EdgeList doInBackground() throws Exception {
+			return new GraphImporter(file).loadEdges();
+		}
+		
+		@Override
+		protected void done(){
+			EdgeList graph;
+			try {
+				graph = get();
+			} catch(InterruptedException | ExecutionException ex) {
+				Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+				JOptionPane.showMessageDialog(GraphPanel.this, "Could not import " + file.getFileName() + ": " + cause.getMessage());
+				return;
+			}
+			if(graph.vertexCount == 0) {
+				JOptionPane.showMessageDialog(GraphPanel.this, file.getFileName() + " does not contain any vertex.");
+				return;
+			}
+			showGraph(graph, false, new Random(graph.size()));
+		}
+	}
+	
+	//Save the panel as a binary GraphSnapshot, optionally deflate compressed.
+	private class SaveAction extends AbstractAction {
+		private JFileChooser chooser = new JFileChooser();
+		private JCheckBox compress = new JCheckBox("Compress");
+		
+		public SaveAction(String name) {
+			super(name);
+			chooser.setAccessory(compress);
+		}
+		
+		@Override
+		public void actionPerformed(ActionEvent e) {
+			if(chooser.showSaveDialog(GraphPanel.this) != JFileChooser.APPROVE_OPTION)
+				return;
+			Path file = chooser.getSelectedFile().toPath();
+			GraphSnapshot snapshot = buildSnapshot();
+			boolean deflate = compress.isSelected();
+			new SwingWorker<Void, Void>() {
+				@Override
+				protected Void doInBackground() throws Exception {
+					snapshot.write(file, deflate);
+					return null;
 				}
 				
-				//Choose a start Vertex
-				int id = rnd.nextInt(vertices.size()); 
-				vertices.get(id).becomeStartVertex(vertices);
+				@Override
+				protected void done() {
+					try {
+						get();
+					} catch(InterruptedException | ExecutionException ex) {
+						Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+						JOptionPane.showMessageDialog(GraphPanel.this, "Could not save " + file.getFileName() + ": " + cause.getMessage());
+					}
+				}
+			}.execute();
+		}
+	}
+	
+	//Load a GraphSnapshot written by SaveAction, the file is read in the background.
+	private class LoadAction extends AbstractAction {
+		private JFileChooser chooser = new JFileChooser();
+		
+		public LoadAction(String name) {
+			super(name);
+		}
+		
+		@Override
+		public void actionPerformed(ActionEvent e) {
+			if(chooser.showOpenDialog(GraphPanel.this) != JFileChooser.APPROVE_OPTION)
+				return;
+			Path file = chooser.getSelectedFile().toPath();
+			new SwingWorker<GraphSnapshot, Void>() {
+				@Override
+				protected GraphSnapshot doInBackground() throws Exception {
+					return GraphSnapshot.read(file);
+				}
 				
-				//Generate 14 edges
-				int[][] edgesMatrix = new int[14][2];
-				int temp;
-				System.out.println(edgesMatrix.length);
-				for(int i = 0 ; i < edgesMatrix.length; i ++) {
-					edgesMatrix[i][0] = rnd.nextInt(vertices.size());
-					
-					//For making sure that edges connect 2 different vertices and the new generating edges aren't generated before
-					temp = rnd.nextInt(vertices.size());				
-					while(temp == edgesMatrix[i][0] || isThisEdgeGenerated(edgesMatrix[i][0], temp, edgesMatrix, i)) {
-						temp = rnd.nextInt(vertices.size());
+				@Override
+				protected void done() {
+					try {
+						showSnapshot(get());
+					} catch(InterruptedException | ExecutionException ex) {
+						Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+						JOptionPane.showMessageDialog(GraphPanel.this, "Could not load " + file.getFileName() + ": " + cause.getMessage());
 					}
-					edgesMatrix[i][1] = temp;
-					
-					//Add a new edge generating by EdgesMatrix whose weight is a random number from 1 to 20
-					edges.add(new Edge(vertices.get(edgesMatrix[i][0]), vertices.get(edgesMatrix[i][1]), rnd.nextInt(20) + 1));
 				}
-				return null;
-			}
-			
-			//When heavy task is done, repaint the frame.
-			@Override
-			protected void done(){
-				super.done();
-				repaint();
-			}
-			
+			}.execute();
 		}
 	}
 	
@@ -319,34 +752,28 @@ public class GraphPanel extends JComponent{
 			super(name);
 		}
 
+		//Only the selected vertices and their own edges are visited, so deleting them
+		//costs time in the sum of their degrees and not in the size of the graph.
 		@Override
 		public void actionPerformed(ActionEvent e) {
-			ListIterator<Vertex> iter = vertices.listIterator();
-			while (iter.hasNext()) {
-				Vertex v = iter.next();
+			for(Vertex v: selectedVertices) {
+				//Under "Keep MST" the vertex leaves the tree together with all its edges, so the pieces of its tree
+				//are joined again once and not after every single one of its tree edges.
+				if(dynamicMST != null)
+					dynamicMST.removeVertex(v.vertexID);
 				
-				//Just processing with the vertices which are selected.
-				if(v.isSelected()) {
-					
-					//Delete association edges
-					deleteEdges(v);
-					
-					//Delete vertices
-					iter.remove();
-				}
+				//Delete association edges.
+				for(Edge edge: v.incidentEdges())
+					removeEdge(edge);
+				
+				//Delete vertices
+				removeVertex(v);
 			}
+			selectedVertices.clear();
+			
 			//After deleting all vertices and association edges, repaint the frame.
 			repaint();
 		}	
-		
-		private void deleteEdges(Vertex v) {
-			ListIterator <Edge> iter = edges.listIterator();
-			while(iter.hasNext()) {
-				Edge e = iter.next();
-				if(e.v1 == v || e.v2 == v)
-					iter.remove();
-			}
-		}
 	}
 	
 	
@@ -358,12 +785,16 @@ public class GraphPanel extends JComponent{
 		}
 		@Override
 		public void actionPerformed(ActionEvent e) {
-			Vertex.getSelected(vertices, selectedVertices);
 			if(selectedVertices.size() == 2) {
 				try{
 					int weight = Integer.parseInt(
 							JOptionPane.showInputDialog(GraphPanel.this, "Input the weight of edge:"));
-					edges.add(new Edge(selectedVertices.get(0), selectedVertices.get(1), weight));
+					Edge existing = findEdge(selectedVertices.get(0).vertexID, selectedVertices.get(1).vertexID);
+					if(existing != null)
+						//Connecting two connected vertices again just changes the weight of their edge.
+						changeWeight(existing, weight);
+					else
+						addEdge(selectedVertices.get(0), selectedVertices.get(1), weight);
 				} catch(NumberFormatException ex){
 					//In the case that user enter a non - numeric character, show dialog for warning user.
 					JOptionPane.showMessageDialog(GraphPanel.this, "Please enter the number only!");
@@ -385,10 +816,7 @@ public class GraphPanel extends JComponent{
 		
 		@Override
 		public void actionPerformed(ActionEvent e) {
-			int selectedVertexPosition = Vertex.selectOne(vertices, mousePt);
-			
-			//Copy the selected vertices from vertices list to selectedVertices list.
-			Vertex.getSelected(vertices, selectedVertices);
+			int selectedVertexPosition = selectOne(mousePt);
 			
 			if (selectedVertices.size() > 1) {
 				//For the case that user chooses more than over vertex
@@ -400,7 +828,9 @@ public class GraphPanel extends JComponent{
 				JOptionPane.showMessageDialog(GraphPanel.this, "Please choose a vertex first!");
 			} else {
 				//If everything is okay, set the selected vertex to the start vertex by saving information and changing its color to green.
-				vertices.get(selectedVertexPosition).becomeStartVertex(vertices);
+				makeStartVertex(vertices.get(selectedVertexPosition));
+				//The tree of the last run is rooted at the old start vertex.
+				graphChanged();
 			}
 			//After all, repaint
 			repaint();
@@ -411,7 +841,13 @@ public class GraphPanel extends JComponent{
 	//For finding MST use case
 	
 	private class FindMSTAction extends AbstractAction {
-		private int[][] adjacencyMatrix;		
+		private MSTEngine engine = new PrimEngine();
+		//The last recorded run, replayed without computing again as long as the graph, the start vertex
+		//and the algorithm are the same (modifications counts every change of the graph or the start vertex).
+		private StepTrace recorded;
+		private int recordedModifications;
+		private Object recordedAlgorithm;
+		private String recordedMessage;
 		
 		public FindMSTAction(String name) {
 			super(name);
@@ -419,6 +855,31 @@ public class GraphPanel extends JComponent{
 		
 		@Override
 		public void actionPerformed(ActionEvent e) {
+			//The animation uses the colors of the tree itself.
+			if(dynamicMST != null) {
+				GraphPanel.this.control.keepMST.setSelected(false);
+				stopDynamicMST();
+			}
+			resetColors();
+			Object algorithm = GraphPanel.this.control.algorithm.getSelectedItem();
+			if(RESULT_ONLY.equals(GraphPanel.this.control.mode.getSelectedItem())) {
+				runToCompletion(algorithm);
+				return;
+			}
+			if(recorded != null && recordedModifications == modifications && algorithm.equals(recordedAlgorithm)) {
+				if(!PRIM.equals(algorithm))
+					blackenVertices();
+				disableFuntions();
+				play(recorded, recordedMessage);
+				return;
+			}
+			if(PRIM.equals(algorithm))
+				animatePrim();
+			else
+				animateKruskal(FILTER_KRUSKAL.equals(algorithm));
+		}
+		
+		private void animatePrim() {
 			Vertex startVertex = Vertex.findStartVertex(vertices);
 			
 			if(startVertex == null)
@@ -426,132 +887,160 @@ public class GraphPanel extends JComponent{
 				JOptionPane.showMessageDialog(GraphPanel.this, "Plesae choose the start vertex first!");
 			else {
 				//If algorithm is fine to run, then process Initialization
-				//by constructing an adjacency matrix, disabling other functions, showing stop button and disabling showing popup
-				//Initialization part also set vertices' keys to INT_MAX(can be considered as infinite) and vertices' parents to null.
-				primInitialization();
-				
-				//Set the key of the start vertex to be 0
-				startVertex.key = 0;
+				//by disabling other functions, showing stop button and disabling showing popup
+				disableFuntions();
 				
-				//Create a priority queue for faster executing Prim's algorithm.
-				MinPriorityQueue queue = new MinPriorityQueue(vertices);		
-
+				//The CsrGraph gives the incident edges of every vertex, so each step only touches the edges of the extracted vertex.
+				CsrGraph graph = buildCsrGraph();
+				int source = vertexIndex.indexOf(startVertex.vertexID);
 				
-				//Because of pausing the program for observing how algorithm is executed,
-				//We must use the timer in order to avoid blocking Event Dispatcher Thread paints the swing components
-				timer = new Timer(speed, new ActionListener() {
-					ArrayList<Edge> needRepaintEdges = new ArrayList<Edge>();
-					Vertex processingVertex;
-					Vertex nextMinumumVertex;
-					Edge nextMinimumEdge;
-					
-					@Override
-					public void actionPerformed(ActionEvent e) {
-						if(queue.isEmpty()) {	
-							//When min-priority queue is empty, it means the algorithm is finished
-							//set the last vertex and its light edge to Green
-							//repaint the frame, shows the complete message and stop the timer.
-							
-							nextMinumumVertex.setVertexColor(Color.GREEN);
-							nextMinimumEdge.setEdgeColor(Color.GREEN);							
-							repaint();
-							JOptionPane.showMessageDialog(GraphPanel.this, "Prim's algorithm is completed!");
-							
-							((Timer) e.getSource()).stop();
-						} else {
-							//Repaint the color of previous processing painted blue edges
-							for(Edge edge: needRepaintEdges){
-								if(edge!= nextMinimumEdge && needRepaintEdges.size() != 1){
-									edge.setEdgeColor(Color.BLACK);
-									edge.v1.setVertexColor(Color.BLACK);
-								}
-							}
-							needRepaintEdges.clear();
-							
-							
-							//After each iterator, a vertex with the minimum key is extracted.
-							processingVertex = queue.heapExtractMin();
-						
-							//Set the color of this current processing vertex to green.
-							processingVertex.setVertexColor(Color.GREEN);		
-							
-							if(processingVertex.parent != null){
-								//If this vertex isn't the first selected vertex or isn't the vertex which has no connected edges
-								//Then set the color of the edge connected it with its parent to green.
-								Edge.findEdgeInList(processingVertex.vertexID, processingVertex.parent.vertexID, edges).setEdgeColor(Color.GREEN);
-							}
-							
-							
-							//this loop is for updating keys and parents information of remained vertices which aren't added to 
-							//the tree yet. This is for making sure that, in the next iteration of while loop above, a vertex
-							//with the correct minimum key is extracted.
-							for(int i = 0; i< adjacencyMatrix[0].length; i++)
-							if(adjacencyMatrix[processingVertex.getVertexID()][i] != 0) {
-								int vertexPos = Vertex.findVertexInList(i, vertices);
-								if(queue.contains(vertices.get(vertexPos).vertexID) && adjacencyMatrix[processingVertex.getVertexID()][i] < vertices.get(vertexPos).key){
-									vertices.get(vertexPos).parent = processingVertex;
-									vertices.get(vertexPos).key = adjacencyMatrix[processingVertex.vertexID][i];
-									queue.buildMinHeap();
-								}
-							}
-							
-							//Change the color of edges and vertices connected the tree with remained vertices to BLUE
-							int heapSize = queue.size();
-							int j;
-							Edge edge;					
-							
-							for(int i = 0; i< heapSize; i ++)
-								for(j = heapSize, edge = null; j< vertices.size(); j++){
-									edge = Edge.findEdgeInList(vertices.get(i).vertexID, vertices.get(j).vertexID, edges);
-									if(edge != null) {
-										needRepaintEdges.add(edge);
-										edge.setEdgeColor(Color.BLUE);
-										edge.v1.setVertexColor(Color.BLUE);
-									}
-								}
-							
-							
-							//Change the color of the minimum key vertex and its edge to its parent to RED
-							if(heapSize > 0){
-								nextMinumumVertex = queue.heapMinimum();
-								nextMinumumVertex.setVertexColor(Color.RED);
-								if(nextMinumumVertex.parent != null){
-									nextMinimumEdge = Edge.findEdgeInList(nextMinumumVertex.vertexID, nextMinumumVertex.parent.vertexID, edges);
-									nextMinimumEdge.setEdgeColor(Color.RED);
-								}
-								repaint();
-							}
-						}
-					}
-				});
-				timer.setRepeats(true);
-				
-				// 2 ticks of timer have the duration of speed value.
-				timer.setDelay(speed);
-				timer.start();				
+				//Record the run once, the timer only replays it. The keys and parents the vertices end up with are kept in lastMST.
+				StepTrace steps = StepTrace.prim(graph, source);
+				lastMST = steps.result();
+				play(steps, "Prim's algorithm is completed!\nTotal weight of the MST: " + lastMST.totalWeight());
 			}			
 		}
 		
-		private void primInitialization() {
-			for (Vertex v: vertices) {
-				//Initialize the key value of each vertex is infinite
-				v.key = Integer.MAX_VALUE;
-				
-				//Initialize the parent of each vertex is null
-				v.parent = null;
-			}
-
-			buildAdjacencyMatrix();
+		//Kruskal doesn't grow one tree from the start vertex, so it is computed up front by KruskalEngine
+		//and the timer replays its decisions: an accepted edge turns GREEN with its vertices,
+		//a rejected edge (it would close a cycle) is shown RED for one step.
+		private void animateKruskal(boolean filter) {
+			blackenVertices();
 			disableFuntions();
+			
+			EdgeList edgeList = buildEdgeList();
+			int[] decisions = new KruskalEngine(filter).decisions(edgeList);
+			rememberForest(edgeList, decisions);
+			long totalWeight = 0;
+			for(int decision: decisions)
+				if(decision >= 0)
+					totalWeight += edgeList.weights[decision];
+			String name = filter ? "Filter-Kruskal" : "Kruskal's";
+			
+			play(StepTrace.kruskal(vertices.size(), edgeList, decisions), name + " algorithm is completed!\nTotal weight of the MST: " + totalWeight);
 		}
 		
-		private void buildAdjacencyMatrix() {
-			adjacencyMatrix = new int[Vertex.maxVertexID(vertices)+1][Vertex.maxVertexID(vertices)+1];
-			for(Edge e: edges) {
-				int i = e.v1.getVertexID();
-				int j = e.v2.getVertexID();
-				adjacencyMatrix[i][j] = adjacencyMatrix[j][i] = e.weight;
+		//Even the start vertex is BLACK, only the highlighted vertices can have another color.
+		private void blackenVertices() {
+			for(int i = highlightedVertices.size() - 1; i >= 0; i--)
+				setColor(highlightedVertices.get(i), Color.BLACK);
+		}
+		
+		//Compute the tree in the background without any animation and only show the result.
+		//The graph is copied into a CsrGraph first, so the worker never touches the panel.
+		private void runToCompletion(Object algorithm) {
+			Vertex startVertex = Vertex.findStartVertex(vertices);
+			if(startVertex == null && PRIM.equals(algorithm)) {
+				JOptionPane.showMessageDialog(GraphPanel.this, "Plesae choose the start vertex first!");
+				return;
 			}
+			if(vertices.isEmpty())
+				return;
+			if(!PRIM.equals(algorithm))
+				blackenVertices();
+			disableFuntions();
+			
+			CsrGraph graph = buildCsrGraph();
+			int source = startVertex == null ? 0 : vertexIndex.indexOf(startVertex.vertexID);
+			MSTEngine mstEngine = PRIM.equals(algorithm) ? engine : new KruskalEngine(FILTER_KRUSKAL.equals(algorithm));
+			String name = PRIM.equals(algorithm) ? "Prim's" : FILTER_KRUSKAL.equals(algorithm) ? "Filter-Kruskal" : "Kruskal's";
+			repaint();
+			
+			mstWorker = new SwingWorker<MSTResult, Void>() {
+				@Override
+				protected MSTResult doInBackground() {
+					return mstEngine.findMST(graph, source);
+				}
+				
+				//Color the tree GREEN, unless the run was stopped in the meantime.
+				@Override
+				protected void done() {
+					if(isCancelled() || mstWorker != this)
+						return;
+					mstWorker = null;
+					MSTResult result;
+					try {
+						result = get();
+					} catch(InterruptedException | ExecutionException ex) {
+						Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+						JOptionPane.showMessageDialog(GraphPanel.this, "Could not compute the MST: " + cause.getMessage());
+						return;
+					}
+					lastMST = result;
+					int[] parent = result.parent();
+					for(int v = 0; v < parent.length; v++) {
+						if(parent[v] == MSTResult.NO_PARENT)
+							continue;
+						Vertex vertex = vertices.get(v);
+						setColor(findEdge(vertex.vertexID, vertices.get(parent[v]).vertexID), Color.GREEN);
+						setColor(vertex, Color.GREEN);
+						setColor(vertices.get(parent[v]), Color.GREEN);
+					}
+					repaint();
+					JOptionPane.showMessageDialog(GraphPanel.this,
+							name + " algorithm is completed!\nTotal weight of the MST: " + result.totalWeight());
+				}
+			};
+			mstWorker.execute();
+		}
+		
+		//Replay trace from its first step, one step per tick of the timer.
+		//Because of pausing the program for observing how algorithm is executed,
+		//We must use the timer in order to avoid blocking Event Dispatcher Thread paints the swing components
+		//In TURBO mode the timer ticks once per frame instead and every tick applies as many steps as fit into TURBO_BUDGET.
+		private void play(StepTrace steps, String message) {
+			recorded = steps;
+			recordedModifications = modifications;
+			recordedAlgorithm = GraphPanel.this.control.algorithm.getSelectedItem();
+			recordedMessage = message;
+			
+			trace = steps;
+			traceStep = 0;
+			GraphPanel.this.control.stepSlider.setMaximum(steps.stepCount());
+			GraphPanel.this.control.stepSlider.setValue(0);
+			GraphPanel.this.control.stepSlider.setEnabled(true);
+			
+			boolean turbo = TURBO.equals(GraphPanel.this.control.mode.getSelectedItem());
+			timer = new Timer(turbo ? FRAME : speed, new ActionListener() {
+				@Override
+				public void actionPerformed(ActionEvent e) {
+					if(turbo) {
+						long end = System.nanoTime() + TURBO_BUDGET;
+						while(traceStep < trace.stepCount() && System.nanoTime() < end)
+							stepForward();
+						repaintDirty();
+					} else if(traceStep < trace.stepCount()) {
+						seek(traceStep + 1);
+					}
+					GraphPanel.this.control.stepSlider.setValue(traceStep);
+					if(MSTStats.ENABLED)
+						repaint(STATS_BOUNDS);
+					if(traceStep == trace.stepCount()) {
+						//The last step is shown, shows the complete message and stop the timer.
+						JOptionPane.showMessageDialog(GraphPanel.this, message);
+						((Timer) e.getSource()).stop();
+					}
+				}
+			});
+			timer.setRepeats(true);
+			
+			// 2 ticks of timer have the duration of speed value.
+			timer.setDelay(turbo ? FRAME : speed);
+			timer.start();
+		}
+		
+		//Keep the accepted edges as the result of the run, rooted at the start vertex (or the first vertex).
+		private void rememberForest(EdgeList edgeList, int[] decisions) {
+			if(vertices.isEmpty())
+				return;
+			int[] tree = new int[decisions.length];
+			int count = 0;
+			for(int decision: decisions)
+				if(decision >= 0)
+					tree[count++] = decision;
+			Vertex startVertex = Vertex.findStartVertex(vertices);
+			int source = startVertex == null ? 0 : vertexIndex.indexOf(startVertex.vertexID);
+			lastMST = MSTResult.fromForest(edgeList, source, tree, count);
 		}
 		
 		//Disabling other functions while running algorithm but still able to move vertices.
@@ -560,100 +1049,607 @@ public class GraphPanel extends JComponent{
 			GraphPanel.this.control.defaultButton.setEnabled(false);
 			GraphPanel.this.control.clearAllButton.setEnabled(false);
 			GraphPanel.this.control.randomButton.setEnabled(false);
+			GraphPanel.this.control.generateButton.setEnabled(false);
+			GraphPanel.this.control.importButton.setEnabled(false);
+			GraphPanel.this.control.saveButton.setEnabled(false);
+			GraphPanel.this.control.loadButton.setEnabled(false);
 			GraphPanel.this.control.connectButton.setEnabled(false);
 			GraphPanel.this.control.startVertexButton.setEnabled(false);
 			GraphPanel.this.control.js.setEnabled(false);
+			GraphPanel.this.control.mode.setEnabled(false);
+			GraphPanel.this.control.algorithm.setEnabled(false);
 			GraphPanel.this.control.findMSTButton.setEnabled(false);
+			GraphPanel.this.control.keepMST.setEnabled(false);
 			GraphPanel.this.control.stopButton.setEnabled(true);
 		}
-
-		//For faster handling Prim's algorithm, I use min-priority queue building on a heap data structure.
-		private class MinPriorityQueue {
-			private int heapSize;
-			private List<Vertex> vertices;			
-			
-			public MinPriorityQueue(List<Vertex> vertices) {
-				heapSize = vertices.size();
-				this.vertices = vertices;
-				
-				buildMinHeap();
-			}
-			
-			private int parent(int pos) {
-				return pos/2;
-			} 
-			
-			private int left(int pos) {
-				return 2*pos;
-			}
-			
-			private int right(int pos) {
-				return 2*pos + 1;
-			}
-			
-			//For ensuring the min-heap property.
-			private void minHeapify(int pos) {
-				int smallest;
-				int leftChild = left(pos);
-				int rightChild = right(pos);
-				
-				if(leftChild < heapSize && vertices.get(leftChild).key < vertices.get(pos).key)
-					smallest = leftChild;
-				else smallest = pos;
-				if(rightChild < heapSize && vertices.get(rightChild).key < vertices.get(smallest).key)
-					smallest = rightChild;
-				
-				if (smallest != pos) {
-					Collections.swap(vertices, smallest, pos);
-					minHeapify(smallest);
+	}
+	
+	//Add a vertex at p to the store, append it to vertices list and remember its position.
+	//The ID comes from the IdAllocator of the panel, or is already known, e.g. for a generated graph numbered 1 .. n.
+	private Vertex addVertex(int vertexID, Point p) {
+		if(dynamicMST != null)
+			dynamicMST.addVertex(vertexID);
+		store.addVertex(vertexID, p.x, p.y);
+		Vertex v = new Vertex(store, vertexID);
+		vertices.add(v);
+		vertexIndex.put(vertexID, vertices.size() - 1);
+		vertexIds.reserve(vertexID);
+		vertexGrid.add(vertexID, p.x, p.y);
+		graphChanged();
+		invalidateLayers();
+		return v;
+	}
+	
+	//Remove all vertices and edges together with their indexes.
+	private void clearGraph() {
+		store.clear();
+		vertices.clear();
+		vertexIndex.clear();
+		vertexIds.clear();
+		vertexGrid.clear();
+		selectedVertices.clear();
+		edges.clear();
+		edgeIndex.clear();
+		highlightedVertices.clear();
+		highlightedEdges.clear();
+		graphChanged();
+		//Whoever fills the panel again builds the tree at once with startDynamicMSTIfKept.
+		dynamicMST = null;
+		invalidateLayers();
+	}
+	
+	private void select(Vertex v, boolean selected) {
+		if(v.isSelected() == selected)
+			return;
+		v.setSelected(selected);
+		if(selected)
+			selectedVertices.add(v);
+		else
+			selectedVertices.remove(v);
+		highlight(highlightedVertices, v, !v.isDefault());
+	}
+	
+	//set selected value of all vertices to false
+	private void selectNone() {
+		for(Vertex v: selectedVertices) {
+			v.setSelected(false);
+			highlight(highlightedVertices, v, !v.isDefault());
+		}
+		selectedVertices.clear();
+	}
+	
+	//Position of the first vertex in vertices list whose circle contains p, or -1.
+	//Only the vertices of the grid cells around p are tested.
+	private int vertexAt(Point p) {
+		nearbyVertices.clear();
+		vertexGrid.query(p.x - Vertex.RADIUS, p.y - Vertex.RADIUS, p.x + Vertex.RADIUS, p.y + Vertex.RADIUS, nearbyVertices);
+		int found = -1;
+		for(int i = 0; i < nearbyVertices.size(); i++) {
+			int position = vertexIndex.indexOf(nearbyVertices.get(i));
+			if((found == -1 || position < found) && vertices.get(position).contains(p))
+				found = position;
+		}
+		return found;
+	}
+	
+	//set selected value of current selected vertex to true while the selected values of remainders are false.
+	private int selectOne(Point p) {
+		int position = vertexAt(p);
+		if(position != -1 && !vertices.get(position).isSelected()) {
+			selectNone();
+			select(vertices.get(position), true);
+		}
+		return position;
+	}
+	
+	private void selectToggle(Point p) {
+		nearbyVertices.clear();
+		vertexGrid.query(p.x - Vertex.RADIUS, p.y - Vertex.RADIUS, p.x + Vertex.RADIUS, p.y + Vertex.RADIUS, nearbyVertices);
+		for(int i = 0; i < nearbyVertices.size(); i++) {
+			Vertex v = vertices.get(vertexIndex.indexOf(nearbyVertices.get(i)));
+			if(v.contains(p))
+				select(v, !v.isSelected());
+		}
+	}
+	
+	private void selectRect(Rectangle r) {
+		selectNone();
+		nearbyVertices.clear();
+		vertexGrid.query(r.x, r.y, r.x + r.width, r.y + r.height, nearbyVertices);
+		for(int i = 0; i < nearbyVertices.size(); i++) {
+			Vertex v = vertices.get(vertexIndex.indexOf(nearbyVertices.get(i)));
+			if(r.contains(v.x(), v.y()))
+				select(v, true);
+		}
+	}
+	
+	//Move the selected vertices by d and update their grid cells.
+	//During a drag the region they and their edges cover before and after the move is marked dirty,
+	//otherwise the layers are drawn again.
+	private void moveSelected(Point d) {
+		if(dragging)
+			markDraggedDirty();
+		for(Vertex v: selectedVertices) {
+			v.move(d);
+			vertexGrid.move(v.vertexID, v.x(), v.y());
+		}
+		if(dragging)
+			markDraggedDirty();
+		else if(!selectedVertices.isEmpty())
+			invalidateLayers();
+	}
+	
+	//Lift the selected vertices and their edges out of the layers.
+	//An edge between two selected vertices is taken from the edges of its first vertex only.
+	private void beginDrag() {
+		dragging = true;
+		draggedEdges.clear();
+		for(Vertex v: selectedVertices) {
+			v.setLifted(true);
+			for(Edge e: v.incidentEdges()) {
+				Vertex first = e.v1();
+				if(first.equals(v) || !first.isSelected()) {
+					e.setLifted(true);
+					draggedEdges.add(e);
 				}
 			}
-			
-			//Build a min-heap using vertices list.
-			private void buildMinHeap() {
-				for(int i = heapSize/2; i >= 0; i--)
-					minHeapify(i);
-			}
-			
-			//The vertex at position 0 of vertices is the vertex has smallest key
-			//This is property of heap data structure.
-			private Vertex heapMinimum() {
-				return vertices.get(0);
-			}
-			
-			//Extract the vertex has minimum key then swap the position of vertices in vertices list
-			//to ensure heap property. Note that, changing the position of vertices in vertices list doesn't affect
-			//the appearance of vertices in Frame because vertices are drawn by location information, not the position of them on vertices list.
-			protected Vertex heapExtractMin() {
-				if(heapSize < 1)
-					return null;
-				
-				Vertex min = heapMinimum();				
-				Collections.swap(vertices, 0, heapSize -1);				
-				heapSize --;
-				minHeapify(0);				
-				//return the position of Vertex in the Arraylist
-				return min;
+		}
+		if(dragTimer == null) {
+			dragTimer = new Timer(FRAME, new ActionListener() {
+				@Override
+				public void actionPerformed(ActionEvent e) {
+					applyDrag();
+				}
+			});
+			dragTimer.setRepeats(false);
+		}
+		invalidateLayers();
+		repaint();
+	}
+	
+	//Move the dragged vertices to the last point the mouse was dragged to.
+	private void applyDrag() {
+		if(dragTarget == null)
+			return;
+		moveSelected(new Point(dragTarget.x - mousePt.x, dragTarget.y - mousePt.y));
+		mousePt = dragTarget;
+		dragTarget = null;
+		repaintDirty();
+	}
+	
+	//Apply the pending move and put the dragged elements back into the layers.
+	private void endDrag() {
+		dragTimer.stop();
+		applyDrag();
+		for(Vertex v: selectedVertices)
+			v.setLifted(false);
+		for(Edge e: draggedEdges)
+			e.setLifted(false);
+		draggedEdges.clear();
+		dragging = false;
+		invalidateLayers();
+		repaint();
+	}
+	
+	private void markDraggedDirty() {
+		for(Vertex v: selectedVertices)
+			markDirty(v);
+		for(Edge e: draggedEdges)
+			markDirty(e);
+	}
+	
+	//Remove a vertex without edges in O(1): the last vertex of the list takes its position.
+	private void removeVertex(Vertex v) {
+		int position = vertexIndex.indexOf(v.vertexID);
+		Vertex last = vertices.remove(vertices.size() - 1);
+		if(!last.equals(v)) {
+			vertices.set(position, last);
+			vertexIndex.put(last.vertexID, position);
+		}
+		vertexIndex.remove(v.vertexID);
+		vertexGrid.remove(v.vertexID);
+		vertexIds.release(v.vertexID);
+		highlight(highlightedVertices, v, false);
+		store.removeVertex(v.vertexID);
+		graphChanged();
+		invalidateLayers();
+	}
+	
+	//Add an edge between v1 and v2 to the store, which links it into the edge lists of both vertices,
+	//append it to edges list and remember its position.
+	private Edge addEdge(Vertex v1, Vertex v2, int weight) {
+		Edge e = new Edge(store, store.addEdge(v1.vertexID, v2.vertexID, weight));
+		edges.add(e);
+		edgeIndex.put(Edge.key(v1.vertexID, v2.vertexID), edges.size() - 1);
+		if(dynamicMST != null)
+			dynamicMST.addEdge(v1.vertexID, v2.vertexID, weight);
+		graphChanged();
+		invalidateLayers();
+		return e;
+	}
+	
+	private void changeWeight(Edge e, int weight) {
+		e.setWeight(weight);
+		if(dynamicMST != null)
+			dynamicMST.setWeight(e.v1().vertexID, e.v2().vertexID, weight);
+		graphChanged();
+		invalidateLayers();
+	}
+	
+	//Remove an edge in O(1): the last edge of the list takes its position, and the store unlinks it
+	//from the edge lists of both vertices. Edges are only removed with their vertex, which DeleteAction
+	//has taken out of dynamicMST already.
+	private void removeEdge(Edge e) {
+		int vertexID1 = store.source(e.slot);
+		int vertexID2 = store.target(e.slot);
+		int position = edgeIndex.remove(Edge.key(vertexID1, vertexID2));
+		Edge last = edges.remove(edges.size() - 1);
+		if(!last.equals(e)) {
+			edges.set(position, last);
+			edgeIndex.put(Edge.key(store.source(last.slot), store.target(last.slot)), position);
+		}
+		highlight(highlightedEdges, e, false);
+		store.removeEdge(e.slot);
+		graphChanged();
+		invalidateLayers();
+	}
+	
+	//The tree of the last run and the recorded run don't fit the graph any more.
+	private void graphChanged() {
+		lastMST = null;
+		modifications++;
+	}
+	
+	//return the edge connecting two vertices, in either direction, or null.
+	private Edge findEdge(int vertexID1, int vertexID2) {
+		if(MSTStats.ENABLED)
+			MSTStats.EDGE_LOOKUPS.increment();
+		int i = edgeIndex.get(Edge.key(vertexID1, vertexID2));
+		return i == -1 ? null : edges.get(i);
+	}
+	
+	//Replace the graph of the panel by a generated or imported one, vertex i of the graph gets the ID i+1.
+	//Vertices are laid out as a grid or scattered over the panel, parallel edges are merged into the lightest one.
+	private void showGraph(EdgeList graph, boolean grid, Random positions) {
+		clearGraph();
+		store.ensureCapacity(graph.vertexCount, graph.size());
+		
+		int columns = GraphGenerator.gridColumns(graph.vertexCount);
+		//Random positions are spread over the part of the world the panel shows.
+		Rectangle visible = toWorld(new Rectangle(0, 0, Math.max(1, getWidth()), Math.max(1, getHeight())));
+		for (int i = 0 ; i < graph.vertexCount; i++) {
+			Point p;
+			if(grid)
+				p = new Point(GRID_SPACING / 2 + (i % columns) * GRID_SPACING, GRID_SPACING / 2 + (i / columns) * GRID_SPACING);
+			else
+				p = new Point(visible.x + positions.nextInt(visible.width), visible.y + positions.nextInt(visible.height));
+			addVertex(i + 1, p);
+		}
+		
+		//Choose a start Vertex
+		makeStartVertex(vertices.get(positions.nextInt(vertices.size())));
+		
+		for(int i = 0; i < graph.size(); i++) {
+			Vertex v1 = vertices.get(graph.sources[i]);
+			Vertex v2 = vertices.get(graph.targets[i]);
+			Edge existing = findEdge(v1.vertexID, v2.vertexID);
+			if(existing == null)
+				addEdge(v1, v2, graph.weights[i]);
+			else if(graph.weights[i] < existing.weight())
+				changeWeight(existing, graph.weights[i]);
+		}
+		startDynamicMSTIfKept();
+		fitView();
+		repaint();
+	}
+	
+	//Draw all vertices and edges in their default look into the layers.
+	private void renderLayers() {
+		int width = Math.max(1, getWidth());
+		int height = Math.max(1, getHeight());
+		if(edgeLayer == null || edgeLayer.getWidth() != width || edgeLayer.getHeight() != height) {
+			edgeLayer = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+			vertexLayer = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		}
+		
+		//Only what lies in the visible part of the world is drawn. The vertices are found through the grid
+		//with a margin of one radius, the edges by their bounding boxes.
+		Rectangle visible = toWorld(new Rectangle(0, 0, width, height));
+		visibleVertices.clear();
+		vertexGrid.query(visible.x - Vertex.RADIUS, visible.y - Vertex.RADIUS,
+				visible.x + visible.width + Vertex.RADIUS, visible.y + visible.height + Vertex.RADIUS, visibleVertices);
+		boolean labels = zoom >= LABEL_ZOOM;
+		
+		Graphics2D g = edgeLayer.createGraphics();
+		g.setColor(BACKGROUND);
+		g.fillRect(0, 0, width, height);
+		if(visibleVertices.size() > MAX_DRAWN_VERTICES) {
+			//Far too many vertices for single ones to be told apart: show how dense each tile of the screen is.
+			drawDensity(g, width, height);
+			g.dispose();
+			clearVertexLayer(width, height).dispose();
+			layersValid = true;
+			return;
+		}
+		applyView(g);
+		for(Edge e : edges) {
+			if(!e.isLifted() && e.intersects(visible))
+				e.drawDefault(g, labels);
+		}
+		g.dispose();
+		
+		Graphics2D v = clearVertexLayer(width, height);
+		applyView(v);
+		FontMetrics metrics = getFontMetrics(Vertex.FONT);
+		for(int i = 0; i < visibleVertices.size(); i++) {
+			Vertex vertex = new Vertex(store, visibleVertices.get(i));
+			if(!vertex.isLifted())
+				vertex.drawDefault(v, metrics, labels);
+		}
+		v.dispose();
+		layersValid = true;
+	}
+	
+	private Graphics2D clearVertexLayer(int width, int height) {
+		Graphics2D v = vertexLayer.createGraphics();
+		v.setComposite(AlphaComposite.Clear);
+		v.fillRect(0, 0, width, height);
+		v.setComposite(AlphaComposite.SrcOver);
+		return v;
+	}
+	
+	//Count the visible vertices per TILE_SIZE tile of the screen and shade every tile by the logarithm of its count.
+	private void drawDensity(Graphics g, int width, int height) {
+		int columns = (width + TILE_SIZE - 1) / TILE_SIZE;
+		int rows = (height + TILE_SIZE - 1) / TILE_SIZE;
+		int[] counts = new int[columns * rows];
+		int max = 0;
+		for(int i = 0; i < visibleVertices.size(); i++) {
+			int vertexID = visibleVertices.get(i);
+			int column = (int) ((store.x(vertexID) - viewX) * zoom) / TILE_SIZE;
+			int row = (int) ((store.y(vertexID) - viewY) * zoom) / TILE_SIZE;
+			if(column < 0 || column >= columns || row < 0 || row >= rows)
+				continue;
+			max = Math.max(max, ++counts[row * columns + column]);
+		}
+		double scale = 1 / Math.log(max + 1);
+		for(int row = 0; row < rows; row++)
+			for(int column = 0; column < columns; column++) {
+				int count = counts[row * columns + column];
+				if(count == 0)
+					continue;
+				//From light gray for a single vertex to black for the densest tile.
+				int shade = (int) (200 * (1 - Math.log(count + 1) * scale));
+				g.setColor(new Color(shade, shade, shade));
+				g.fillRect(column * TILE_SIZE, row * TILE_SIZE, TILE_SIZE, TILE_SIZE);
 			}
-			
-			protected boolean isEmpty(){
-				if(heapSize == 0) 
-					return true;
-				return false;
+	}
+	
+	//The geometry changed, so the layers are drawn again at the next repaint.
+	private void invalidateLayers() {
+		layersValid = false;
+	}
+	
+	//Add element to or remove it from a list of highlighted elements in O(1).
+	private static <T extends Element> void highlight(List<T> list, T element, boolean highlighted) {
+		if(highlighted == (element.highlightSlot() != GraphStore.NONE))
+			return;
+		if(highlighted) {
+			element.setHighlightSlot(list.size());
+			list.add(element);
+		} else {
+			T last = list.remove(list.size() - 1);
+			if(!last.equals(element)) {
+				list.set(element.highlightSlot(), last);
+				last.setHighlightSlot(element.highlightSlot());
 			}
-			
-			protected int size() {
-				return heapSize;
+			element.setHighlightSlot(GraphStore.NONE);
+		}
+	}
+	
+	private void setColor(Vertex v, Color color) {
+		if(!v.getColor().equals(color))
+			markDirty(v);
+		v.setVertexColor(color);
+		highlight(highlightedVertices, v, !v.isDefault());
+	}
+	
+	private void setColor(Edge e, Color color) {
+		if(!e.getColor().equals(color))
+			markDirty(e);
+		e.setEdgeColor(color);
+		highlight(highlightedEdges, e, !e.isDefault());
+	}
+	
+	private void markDirty(Element element) {
+		Rectangle bounds = element.getBounds();
+		if(dirty == null)
+			dirty = bounds;
+		else
+			dirty.add(bounds);
+	}
+	
+	//Show the first step steps of trace. Going forward applies the events of the steps in between,
+	//going back undoes them in reverse order, so no step of the algorithm is computed again.
+	private void seek(int step) {
+		while(traceStep < step)
+			stepForward();
+		while(traceStep > step)
+			stepBack();
+		repaintDirty();
+	}
+	
+	private void stepForward() {
+		long start = MSTStats.ENABLED ? System.nanoTime() : 0;
+		for(int i = trace.firstEvent(traceStep); i < trace.endEvent(traceStep); i++)
+			recolor(trace.element(i), trace.to(i));
+		traceStep++;
+		if(MSTStats.ENABLED)
+			MSTStats.STEP_LATENCY.record(System.nanoTime() - start);
+	}
+	
+	private void stepBack() {
+		traceStep--;
+		for(int i = trace.endEvent(traceStep) - 1; i >= trace.firstEvent(traceStep); i--)
+			recolor(trace.element(i), trace.from(i));
+	}
+	
+	private void recolor(int element, int color) {
+		if(element >= 0)
+			setColor(vertices.get(element), color == StepTrace.DEFAULT ? Color.BLACK : TRACE_COLORS[color]);
+		else
+			setColor(edges.get(~element), color == StepTrace.DEFAULT ? Edge.DEFAULT_COLOR : TRACE_COLORS[color]);
+	}
+	
+	//Repaint only the part of the screen covered by the elements recolored since the last call,
+	//so an animation step costs the pixels it changed, not the whole panel.
+	private void repaintDirty() {
+		if(dirty == null)
+			return;
+		int x0 = (int) Math.floor((dirty.x - viewX) * zoom);
+		int y0 = (int) Math.floor((dirty.y - viewY) * zoom);
+		int x1 = (int) Math.ceil((dirty.x + dirty.width - viewX) * zoom);
+		int y1 = (int) Math.ceil((dirty.y + dirty.height - viewY) * zoom);
+		dirty = null;
+		//One more pixel on every side for the outline of the shapes.
+		repaint(new Rectangle(x0 - 1, y0 - 1, x1 - x0 + 2, y1 - y0 + 2));
+	}
+	
+	//Build the tree of the whole graph and color it GREEN, from now on it follows every edit.
+	private void startDynamicMST() {
+		resetColors();
+		int[] vertexIds = new int[vertices.size()];
+		for(int i = 0; i < vertexIds.length; i++)
+			vertexIds[i] = vertices.get(i).vertexID;
+		dynamicMST = DynamicMST.build(vertexIds, buildEdgeList(), new DynamicMST.Listener() {
+			@Override
+			public void treeEdgeChanged(int vertexID1, int vertexID2, boolean inTree) {
+				Edge e = findEdge(vertexID1, vertexID2);
+				if(e != null)
+					setColor(e, inTree ? Color.GREEN : Edge.DEFAULT_COLOR);
+				//The vertices of a new tree edge are in the tree, those of a removed one may still have other tree edges.
+				Vertex v1 = vertices.get(vertexIndex.indexOf(vertexID1));
+				Vertex v2 = vertices.get(vertexIndex.indexOf(vertexID2));
+				setColor(v1, inTree ? Color.GREEN : treeColor(v1));
+				setColor(v2, inTree ? Color.GREEN : treeColor(v2));
 			}
-			
-			protected boolean contains(int vertexID) {
-				for(int i = 0; i < heapSize; i++)
-					if(vertices.get(i).vertexID == vertexID)
-						return true;
-				
-				return false;
+		});
+	}
+	
+	//The graph was replaced, build its tree if "Keep MST" is checked.
+	private void startDynamicMSTIfKept() {
+		if(control.keepMST.isSelected())
+			startDynamicMST();
+	}
+	
+	private void stopDynamicMST() {
+		dynamicMST = null;
+		resetColors();
+	}
+	
+	//GREEN for the start vertex and the vertices of the kept tree, BLACK otherwise.
+	private Color treeColor(Vertex v) {
+		if(v.isStartVertex() || (dynamicMST != null && dynamicMST.treeDegree(v.vertexID) > 0))
+			return Color.GREEN;
+		return Color.BLACK;
+	}
+	
+	//Make v the only start vertex and color it GREEN.
+	private void makeStartVertex(Vertex v) {
+		Vertex old = Vertex.findStartVertex(vertices);
+		if(old != null) {
+			old.setStartVertex(false);
+			setColor(old, treeColor(old));
+		}
+		v.setStartVertex(true);
+		setColor(v, Color.GREEN);
+	}
+	
+	//Paint all vertices BLACK and edges DARK_GRAY again, except the start vertex which stays GREEN.
+	//Only the highlighted ones can have another color, they are visited backwards because
+	//an element which is reset is replaced by the last one of its list.
+	private void resetColors() {
+		for(int i = highlightedVertices.size() - 1; i >= 0; i--) {
+			Vertex v = highlightedVertices.get(i);
+			setColor(v, v.isStartVertex() ? Color.GREEN : Color.BLACK);
+		}
+		for(int i = highlightedEdges.size() - 1; i >= 0; i--) {
+			setColor(highlightedEdges.get(i), Edge.DEFAULT_COLOR);
+		}
+	}
+	
+	//Copy the panel into a GraphSnapshot, including the tree of the last run if the graph didn't change since.
+	private GraphSnapshot buildSnapshot() {
+		int n = vertices.size();
+		int[] vertexIds = new int[n];
+		int[] xs = new int[n];
+		int[] ys = new int[n];
+		for(int i = 0; i < n; i++) {
+			Vertex v = vertices.get(i);
+			vertexIds[i] = v.vertexID;
+			xs[i] = v.x();
+			ys[i] = v.y();
+		}
+		EdgeList edgeList = buildEdgeList();
+		Vertex startVertex = Vertex.findStartVertex(vertices);
+		int start = startVertex == null ? -1 : vertexIndex.indexOf(startVertex.vertexID);
+		return new GraphSnapshot(vertexIds, xs, ys, edgeList.sources, edgeList.targets, edgeList.weights, start,
+				lastMST == null ? null : lastMST.parent());
+	}
+	
+	//Replace the graph of the panel by a snapshot. A saved tree is shown in GREEN like at the end of a run.
+	private void showSnapshot(GraphSnapshot snapshot) {
+		clearGraph();
+		
+		for(int i = 0; i < snapshot.vertexCount(); i++)
+			addVertex(snapshot.vertexIds[i], new Point(snapshot.xs[i], snapshot.ys[i]));
+		for(int i = 0; i < snapshot.edgeCount(); i++)
+			addEdge(vertices.get(snapshot.sources[i]), vertices.get(snapshot.targets[i]), snapshot.weights[i]);
+		if(snapshot.start != -1)
+			makeStartVertex(vertices.get(snapshot.start));
+		
+		if(snapshot.parent != null) {
+			int[] parent = snapshot.parent;
+			int[] key = new int[parent.length];
+			Arrays.fill(key, Integer.MAX_VALUE);
+			for(int v = 0; v < parent.length; v++) {
+				if(parent[v] == MSTResult.NO_PARENT)
+					continue;
+				Edge edge = findEdge(vertices.get(v).vertexID, vertices.get(parent[v]).vertexID);
+				key[v] = edge.weight();
+				setColor(edge, Color.GREEN);
+				setColor(edge.v1(), Color.GREEN);
+				setColor(edge.v2(), Color.GREEN);
 			}
+			int source = snapshot.start == -1 ? 0 : snapshot.start;
+			key[source] = 0;
+			lastMST = new MSTResult(source, parent, key);
+		}
+		startDynamicMSTIfKept();
+		fitView();
+		repaint();
+	}
+	
+	//Snapshot the edges into an EdgeList, edge i is the edge at position i of edges list
+	//and the vertices are numbered by their position in vertices list.
+	private EdgeList buildEdgeList() {
+		int[] sources = new int[edges.size()];
+		int[] destinations = new int[edges.size()];
+		int[] weights = new int[edges.size()];
+		for(int i = 0; i < edges.size(); i++) {
+			int slot = edges.get(i).slot;
+			sources[i] = vertexIndex.indexOf(store.source(slot));
+			destinations[i] = vertexIndex.indexOf(store.target(slot));
+			weights[i] = store.weight(slot);
 		}
+		return new EdgeList(vertices.size(), sources, destinations, weights);
+	}
+	
+	//Snapshot the vertices and edges into a CsrGraph for an MSTEngine.
+	//Vertex i of the CsrGraph is the vertex at position i of vertices list, edge i is the edge at position i of edges list.
+	private CsrGraph buildCsrGraph() {
+		EdgeList list = buildEdgeList();
+		return CsrGraph.fromEdges(list.vertexCount, list.sources, list.targets, list.weights);
 	}
 	
 	//For stop use case.
@@ -666,147 +1662,358 @@ public class GraphPanel extends JComponent{
 		@Override
 		public void actionPerformed(ActionEvent e) {
 			//stop changing color of node, then reset all colors of vertices, edges and enable other functions.
-			timer.stop();
-			repaintAllEdgesAndVertices();
+			//The recorded run is kept by FindMSTAction, so running it again costs no computation.
+			if(timer != null)
+				timer.stop();
+			if(mstWorker != null) {
+				mstWorker.cancel(true);
+				mstWorker = null;
+			}
+			trace = null;
+			GraphPanel.this.control.stepSlider.setValue(0);
+			GraphPanel.this.control.stepSlider.setEnabled(false);
+			resetColors();
+			repaint();
 			enableFunctions();
 		}	
 		
-		private void repaintAllEdgesAndVertices() {
-			for(Vertex v: vertices) {
-				v.setVertexColor(Color.BLACK);
-			}
-			for(Edge e: edges) {
-				e.setEdgeColor(Color.BLACK);
-			}
-			Vertex.findStartVertex(vertices).setVertexColor(Color.GREEN);
-			repaint();
-		}
 		private void enableFunctions() {
 			runningAlgorithm = false;
 			GraphPanel.this.control.defaultButton.setEnabled(true);
 			GraphPanel.this.control.clearAllButton.setEnabled(true);
 			GraphPanel.this.control.randomButton.setEnabled(true);
+			GraphPanel.this.control.generateButton.setEnabled(true);
+			GraphPanel.this.control.importButton.setEnabled(true);
+			GraphPanel.this.control.saveButton.setEnabled(true);
+			GraphPanel.this.control.loadButton.setEnabled(true);
 			GraphPanel.this.control.connectButton.setEnabled(true);
 			GraphPanel.this.control.startVertexButton.setEnabled(true);
 			GraphPanel.this.control.js.setEnabled(true);
+			GraphPanel.this.control.mode.setEnabled(true);
+			GraphPanel.this.control.algorithm.setEnabled(true);
 			GraphPanel.this.control.findMSTButton.setEnabled(true);
+			GraphPanel.this.control.keepMST.setEnabled(true);
 			GraphPanel.this.control.stopButton.setEnabled(false);		
 		}
 	}
 	
-	private static class Edge {
+	//Common part of the views of vertices and edges. A view only knows where its element lives in the GraphStore,
+	//so any number of views of one element can exist and they are all equal.
+	private static abstract class Element {
+		protected final GraphStore store;
+		
+		protected Element(GraphStore store) {
+			this.store = store;
+		}
+		
+		//Position in the list of highlighted elements, or GraphStore.NONE if not highlighted.
+		protected abstract int highlightSlot();
+		protected abstract void setHighlightSlot(int slot);
+		//Whether the element is dragged and therefore not drawn into the layers.
+		protected abstract boolean isLifted();
+		protected abstract void setLifted(boolean lifted);
+		//The world rectangle the element covers when drawn.
+		protected abstract Rectangle getBounds();
+	}
+	
+	//Like an ArrayList of views, but only the IDs of the vertices or the slots of the edges are kept, get creates the view.
+	//Elements can be appended, replaced and removed from the end, which is all the panel does.
+	private static abstract class ViewList<T extends Element> extends AbstractList<T> implements RandomAccess {
+		private final IntArrayList handles = new IntArrayList();
+		
+		protected abstract T view(int handle);
+		protected abstract int handle(T element);
 		
-		private Vertex v1;
-		private Vertex v2;
-		private int weight;
-		private Font edgeFont = new Font("Verdana", Font.BOLD, 15);
-		private Color color = Color.DARK_GRAY;
+		@Override
+		public T get(int index) {
+			if(index >= handles.size())
+				throw new IndexOutOfBoundsException("index " + index + ", size " + handles.size());
+			return view(handles.get(index));
+		}
 		
-		protected Edge(Vertex v1, Vertex v2, int weight) {
-			this.v1 = v1;
-			this.v2 = v2;
-			this.weight = weight;
+		@Override
+		public int size() {
+			return handles.size();
 		}
 		
-		protected void draw(Graphics g) {
-			Point p1 = v1.getLocation();
-			Point p2 = v2.getLocation();
+		@Override
+		public boolean add(T element) {
+			handles.add(handle(element));
+			return true;
+		}
+		
+		@Override
+		public T set(int index, T element) {
+			T old = get(index);
+			handles.set(index, handle(element));
+			return old;
+		}
+		
+		@Override
+		public T remove(int index) {
+			if(index != handles.size() - 1)
+				throw new UnsupportedOperationException("only the last element can be removed");
+			return view(handles.removeLast());
+		}
+		
+		@Override
+		public void clear() {
+			handles.clear();
+		}
+	}
+	
+	private class VertexViews extends ViewList<Vertex> {
+		@Override
+		protected Vertex view(int vertexID) {
+			return new Vertex(store, vertexID);
+		}
+		
+		@Override
+		protected int handle(Vertex v) {
+			return v.vertexID;
+		}
+	}
+	
+	private class EdgeViews extends ViewList<Edge> {
+		@Override
+		protected Edge view(int slot) {
+			return new Edge(store, slot);
+		}
+		
+		@Override
+		protected int handle(Edge e) {
+			return e.slot;
+		}
+	}
+	
+	//StepTrace color code of color, DEFAULT for the default color of the element.
+	private static int colorCode(Color color, Color defaultColor) {
+		if(color.equals(defaultColor))
+			return StepTrace.DEFAULT;
+		for(int code = StepTrace.DEFAULT + 1; code < TRACE_COLORS.length; code++)
+			if(TRACE_COLORS[code].equals(color))
+				return code;
+		throw new IllegalArgumentException("no color code for " + color);
+	}
+	
+	//View of the edge in a slot of the GraphStore.
+	private static class Edge extends Element {
+		private static final Color DEFAULT_COLOR = Color.DARK_GRAY;
+		//All edges share one font.
+		private static final Font FONT = new Font("Verdana", Font.BOLD, 15);
+		//The weight is drawn right of and above the middle of the line, within this many pixels.
+		private static final int LABEL_MARGIN = 80;
+		
+		private final int slot;
+		
+		protected Edge(GraphStore store, int slot) {
+			super(store);
+			this.slot = slot;
+		}
+		
+		protected Vertex v1() {
+			return new Vertex(store, store.source(slot));
+		}
+		
+		protected Vertex v2() {
+			return new Vertex(store, store.target(slot));
+		}
+		
+		protected int weight() {
+			return store.weight(slot);
+		}
+		
+		//labels is false when the panel is zoomed out too far to read the weight.
+		protected void draw(Graphics g, boolean labels) {
+			draw(g, getColor(), labels);
+		}
+		
+		//Draw the edge as it looks in the cached edge layer.
+		protected void drawDefault(Graphics g, boolean labels) {
+			draw(g, DEFAULT_COLOR, labels);
+		}
+		
+		private void draw(Graphics g, Color color, boolean labels) {
+			int x1 = store.x(store.source(slot));
+			int y1 = store.y(store.source(slot));
+			int x2 = store.x(store.target(slot));
+			int y2 = store.y(store.target(slot));
 			g.setColor(color);
-			g.drawLine(p1.x, p1.y, p2.x, p2.y);			
-			g.setFont(edgeFont);
-			
-			//Draw the weight of edge at the middle of edge's line.
-			g.drawString(weight + "", (p1.x + p2.x)/2, (p1.y + p2.y)/2);
+			g.drawLine(x1, y1, x2, y2);			
+			if(labels) {
+				g.setFont(FONT);
+				//Draw the weight of edge at the middle of edge's line.
+				g.drawString(Integer.toString(weight()), (x1 + x2)/2, (y1 + y2)/2);
+			}
+		}
+		
+		@Override
+		protected Rectangle getBounds() {
+			int x1 = store.x(store.source(slot));
+			int y1 = store.y(store.source(slot));
+			int x2 = store.x(store.target(slot));
+			int y2 = store.y(store.target(slot));
+			int x = Math.min(x1, x2);
+			int y = Math.min(y1, y2) - LABEL_MARGIN;
+			return new Rectangle(x, y, Math.max(x1, x2) + LABEL_MARGIN - x, Math.max(y1, y2) - y);
+		}
+		
+		//Whether the bounding box of the line, with room for the weight, intersects r.
+		protected boolean intersects(Rectangle r) {
+			int x1 = store.x(store.source(slot));
+			int y1 = store.y(store.source(slot));
+			int x2 = store.x(store.target(slot));
+			int y2 = store.y(store.target(slot));
+			return Math.max(x1, x2) + LABEL_MARGIN >= r.x && Math.min(x1, x2) <= r.x + r.width
+					&& Math.max(y1, y2) >= r.y && Math.min(y1, y2) - LABEL_MARGIN <= r.y + r.height;
+		}
+		
+		protected void setWeight(int weight) {
+			store.setWeight(slot, weight);
+		}
+		
+		protected Color getColor() {
+			int code = store.edgeColor(slot);
+			return code == StepTrace.DEFAULT ? DEFAULT_COLOR : TRACE_COLORS[code];
 		}
 		
 		protected void setEdgeColor(Color color) {
-			this.color = color;
-		}
-		
-		protected static Edge findEdgeInList(int vertexID1, int vertexID2, List<Edge> edges) {
-			for (Edge e : edges) {
-				if(vertexID1 == e.v1.vertexID && vertexID2 == e.v2.vertexID)
-					return e;
-				if( vertexID1 == e.v2.vertexID && vertexID2 == e.v1.vertexID){
-					Vertex temp = e.v1;
-					e.v1 = e.v2;
-					e.v2 = temp;
-					return e;
-				}
-					
-			}
-			return null;
+			store.setEdgeColor(slot, colorCode(color, DEFAULT_COLOR));
+		}
+		
+		protected boolean isDefault() {
+			return store.edgeColor(slot) == StepTrace.DEFAULT;
+		}
+		
+		@Override
+		protected int highlightSlot() {
+			return store.edgeHighlight(slot);
+		}
+		
+		@Override
+		protected void setHighlightSlot(int highlightSlot) {
+			store.setEdgeHighlight(slot, highlightSlot);
+		}
+		
+		@Override
+		protected boolean isLifted() {
+			return store.isEdgeLifted(slot);
+		}
+		
+		@Override
+		protected void setLifted(boolean lifted) {
+			store.setEdgeLifted(slot, lifted);
+		}
+		
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Edge && ((Edge) o).slot == slot;
+		}
+		
+		@Override
+		public int hashCode() {
+			return slot;
+		}
+		
+		//Key of the unordered pair of vertex IDs, the smaller ID goes to the high half.
+		protected static long key(int vertexID1, int vertexID2) {
+			int low = Math.min(vertexID1, vertexID2);
+			int high = Math.max(vertexID1, vertexID2);
+			return ((long) low << 32) | high;
 		}
 	}
 	
-	private static class Vertex {
-		private int vertexID;
-		private Point p;
-		private int r = 17; //radius of the vertex
-		private Color color;
-		private Font vertexFont = new Font("Verdana", Font.BOLD, 15);
-		private boolean selected = false;
-		private boolean isStartVertex = false;
+	//View of the vertex with an ID in the GraphStore.
+	private static class Vertex extends Element {
+		private static final int RADIUS = 17;
+		//All vertices share one font.
+		private static final Font FONT = new Font("Verdana", Font.BOLD, 15);
+		
+		private final int vertexID;
 		
-		protected int key;
-		protected Vertex parent;
+		protected Vertex(GraphStore store, int vertexID) {
+			super(store);
+			this.vertexID = vertexID;
+		}
 		
-		private Rectangle b = new Rectangle();
+		protected int x() {
+			return store.x(vertexID);
+		}
 		
-
-		protected Vertex(Point p, List<Vertex> vertices) {
-			this.p = p;
-			this.vertexID = generateVertexID(vertices);
-			color = Color.BLACK;
-			setBoundary(b);
-		}
-		
-		private void setBoundary(Rectangle b) {
-			b.setBounds(p.x - r, p.y - r, 2 * r, 2 * r);
-		}
-		
-		//For generating vertex ID
-		private int generateVertexID(List<Vertex> vertices){
-			int id = 1;
-			int i;
-			while(true){
-				for(i = 0 ; i < vertices.size(); i ++)
-					if(vertices.get(i).getVertexID() == id)
-						break;
-				if( i != vertices.size())
-					id++;
-				else 
-					return id;
-			}
+		protected int y() {
+			return store.y(vertexID);
+		}
+		
+		//The edges touching this vertex.
+		protected List<Edge> incidentEdges() {
+			List<Edge> incident = new ArrayList<Edge>();
+			for(int arc = store.firstArc(vertexID); arc != GraphStore.NONE; arc = store.nextArc(arc))
+				incident.add(new Edge(store, arc >> 1));
+			return incident;
+		}
+		
+		//metrics are the FontMetrics of FONT, which the panel asks for once per repaint.
+		//labels is false when the panel is zoomed out too far to read the name.
+		protected void draw(Graphics g, FontMetrics metrics, boolean labels) {
+			draw(g, metrics, getColor(), isSelected(), labels);
 		}
 		
-		protected void draw(Graphics g) {
-			g.setColor(this.color);
-			g.fillOval(b.x, b.y, b.width, b.height);
+		//Draw the vertex as it looks in the cached vertex layer.
+		protected void drawDefault(Graphics g, FontMetrics metrics, boolean labels) {
+			draw(g, metrics, Color.BLACK, false, labels);
+		}
+		
+		private void draw(Graphics g, FontMetrics metrics, Color color, boolean selected, boolean labels) {
+			int x = x() - RADIUS;
+			int y = y() - RADIUS;
+			g.setColor(color);
+			g.fillOval(x, y, 2 * RADIUS, 2 * RADIUS);
 			if(selected) {
 				g.setColor(Color.DARK_GRAY);
-				g.drawRect(b.x, b.y, b.width, b.height);
+				g.drawRect(x, y, 2 * RADIUS, 2 * RADIUS);
 			}
-			drawNameOfVertex(g);
+			if(labels)
+				drawNameOfVertex(g, metrics, x, y);
 		}
 		
-		private void drawNameOfVertex(Graphics g){
-			
-			//Get the FontMetrics of Font for Vertex
-			FontMetrics metrics = g.getFontMetrics(vertexFont);
+		protected boolean intersects(Rectangle r) {
+			//Same as Rectangle.intersects for the bounding square of the circle.
+			return r.width > 0 && r.height > 0 && r.x < x() + RADIUS && x() - RADIUS < r.x + r.width
+					&& r.y < y() + RADIUS && y() - RADIUS < r.y + r.height;
+		}
+		
+		@Override
+		protected Rectangle getBounds() {
+			//The selection outline is one pixel wider than the circle.
+			return new Rectangle(x() - RADIUS, y() - RADIUS, 2 * RADIUS + 1, 2 * RADIUS + 1);
+		}
+		
+		//(x, y) is the top left corner of the circle.
+		private void drawNameOfVertex(Graphics g, FontMetrics metrics, int x, int y){
+			String label = Integer.toString(vertexID);
 			//Determine the X coordinate for the text
-			int x = b.x + (b.width - metrics.stringWidth(vertexID + ""))/2;
+			int textX = x + (2 * RADIUS - metrics.stringWidth(label))/2;
 			//Determine the Y coordinate for the text
-			int y = b.y + (b.height - metrics.getHeight() /2);
+			int textY = y + (2 * RADIUS - metrics.getHeight() /2);
 			
 			g.setColor(Color.WHITE);
-			g.setFont(vertexFont);
+			g.setFont(FONT);
 			//Draw the name of Vertex inside
-			g.drawString(vertexID + "", x, y);		
+			g.drawString(label, textX, textY);		
+		}
+		
+		protected Color getColor() {
+			int code = store.vertexColor(vertexID);
+			return code == StepTrace.DEFAULT ? Color.BLACK : TRACE_COLORS[code];
 		}
 		
 		private void setVertexColor(Color color){
-			this.color = color;
+			store.setVertexColor(vertexID, colorCode(color, Color.BLACK));
+		}
+		
+		//Whether the vertex looks like in the cached vertex layer.
+		protected boolean isDefault() {
+			return !isSelected() && store.vertexColor(vertexID) == StepTrace.DEFAULT;
 		}
 		
 		protected int getVertexID() {
@@ -814,121 +2021,70 @@ public class GraphPanel extends JComponent{
 		}
 		
 		protected Point getLocation() {
-			return p;
+			return new Point(x(), y());
 		}
 		
 		private boolean contains(Point p) {
-			return b.contains(p);
+			return p.x >= x() - RADIUS && p.x < x() + RADIUS && p.y >= y() - RADIUS && p.y < y() + RADIUS;
 		}
 		
 		protected boolean isSelected() {
-			return selected;
+			return store.hasFlag(vertexID, GraphStore.SELECTED);
 		}
 		
 		protected void setSelected(boolean selected) {
-			this.selected = selected;
-		}
-		
-		//copy all selected vertices to selected list
-		protected static void getSelected(List<Vertex> list, List<Vertex> selected) {
-			selected.clear();
-			for (Vertex v : list) {
-				if (v.isSelected()) {
-					selected.add(v);
-				}
-			}
+			store.setFlag(vertexID, GraphStore.SELECTED, selected);
 		}
 		
-		//set a vertex as start point by changing startVertex field to true and set the color of vertex to GREEN.
-		private void setStartVertex(boolean startVertex) {
-			this.isStartVertex = startVertex;
-			if(isStartVertex)
-				this.color = Color.GREEN;
-			else
-				this.color = Color.BLACK;
+		protected boolean isStartVertex() {
+			return store.hasFlag(vertexID, GraphStore.START);
 		}
 		
-		protected void becomeStartVertex(List<Vertex> list){
-			//clean the previous start vertex information
-			for(Vertex v: list) {
-				v.setStartVertex(false);
-			}
-			this.isStartVertex = true;
-			this.color = Color.GREEN;			
+		protected void setStartVertex(boolean start) {
+			store.setFlag(vertexID, GraphStore.START, start);
 		}
 		
-		protected static Vertex findStartVertex(List<Vertex> list){
-			for (Vertex v : list) {
-				if(v.isStartVertex)
-					return v;
-			}
-			return null;
+		@Override
+		protected int highlightSlot() {
+			return store.vertexHighlight(vertexID);
 		}
 		
-		//set selected value of all vertices in list to false
-		protected static void selectNone (List<Vertex> list) {
-			for (Vertex v: list) {
-				v.setSelected(false);
-			}
+		@Override
+		protected void setHighlightSlot(int slot) {
+			store.setVertexHighlight(vertexID, slot);
 		}
 		
-		//set selected value of current selected vertex to true while the selected values of remainders are false.
-		protected static int selectOne(List<Vertex> list, Point p) {
-			for (Vertex v : list) {
-				if (v.contains(p)) {
-					if (!v.isSelected()) {
-						Vertex.selectNone(list);
-						v.setSelected(true);
-					}
-					return list.indexOf(v);
-				}
-			}			
-			return -1;
+		@Override
+		protected boolean isLifted() {
+			return store.hasFlag(vertexID, GraphStore.LIFTED);
 		}
 		
-		//return a vertex in list using vertexID.
-		protected static int findVertexInList(int vertexID, List<Vertex> list) {
-			for (Vertex v : list) {
-				if(v.vertexID == vertexID)
-					return list.indexOf(v);
-			}
-			
-			return -1;
+		@Override
+		protected void setLifted(boolean lifted) {
+			store.setFlag(vertexID, GraphStore.LIFTED, lifted);
 		}
 		
-		//this function is for constructing the adjacency matrix of graph whose number of columns and rows are maxVertexID
-		protected static int maxVertexID(List<Vertex> list) {
-			int max = -1;
-			for(Vertex v: list) {
-				if(v.vertexID > max)
-					max = v.vertexID;
-			}
-			
-			return max;
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Vertex && ((Vertex) o).vertexID == vertexID;
 		}
 		
-		protected static void selectRect(List<Vertex> list, Rectangle r) {
-			for (Vertex v : list) {
-				v.setSelected(r.contains(v.p));
-			}
+		@Override
+		public int hashCode() {
+			return vertexID;
 		}
 		
-		protected static void selectToggle(List<Vertex> list, Point p) {
+		protected static Vertex findStartVertex(List<Vertex> list){
 			for (Vertex v : list) {
-				if (v.contains(p)) {
-					v.setSelected(!v.isSelected());
-				}
+				if(v.isStartVertex())
+					return v;
 			}
+			return null;
 		}
 		
-		protected static void updatePosition(List<Vertex> list, Point d) {
-			for (Vertex v: list) {
-				if(v.isSelected()) {
-					v.p.x += d.x;
-					v.p.y += d.y;
-					v.setBoundary(v.b);
-				}
-			}
+		//move the vertex by d
+		protected void move(Point d) {
+			store.move(vertexID, d.x, d.y);
 		}
 	}
 }
\ No newline at end of file
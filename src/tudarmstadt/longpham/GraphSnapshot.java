@@ -0,0 +1,386 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+//Binary snapshot of the panel: vertices with IDs and positions, weighted edges, the start vertex
+//and optionally the parent array of a computed MST.
+//The file is a fixed header followed by the int arrays one after the other, so it is written and read
+//in bulk through ByteBuffers without any per-vertex parsing. The arrays can be deflate compressed.
+//
+//Header (big endian): magic "PRMS", version (short), flags (short), vertex count, edge count,
+//start vertex (-1 if none), CRC32 of the uncompressed arrays.
+//Arrays: vertex IDs, x, y, edge sources, edge targets, weights (sources and targets are vertex positions)
+//and the parent positions if the HAS_PARENT flag is set.
+final class GraphSnapshot {
+	private static final int MAGIC = 0x50524D53;
+	private static final short VERSION = 1;
+	private static final int DEFLATED = 1;
+	private static final int HAS_PARENT = 2;
+	private static final int HEADER_SIZE = 24;
+	private static final int BUFFER = 1 << 20;
+	//Deflate doesn't compress better than about 1032:1, a header promising more data than that is corrupt.
+	private static final int MAX_DEFLATE_RATIO = 1032;
+	//The panel hands out the IDs of deleted vertices again before new ones, so only deletions leave IDs unused.
+	//IDs are indexes into arrays of the panel, so a file with more unused IDs than this is refused.
+	private static final int MAX_UNUSED_IDS = 1 << 22;
+
+	//Vertex i has the ID vertexIds[i] and is drawn at (xs[i], ys[i]).
+	final int[] vertexIds;
+	final int[] xs;
+	final int[] ys;
+	//Edge i connects the vertices at positions sources[i] and targets[i].
+	final int[] sources;
+	final int[] targets;
+	final int[] weights;
+	//Position of the start vertex or -1.
+	final int start;
+	//Position of the parent of every vertex in the computed MST (MSTResult.NO_PARENT for none), or null.
+	final int[] parent;
+
+	GraphSnapshot(int[] vertexIds, int[] xs, int[] ys, int[] sources, int[] targets, int[] weights, int start, int[] parent) {
+		int n = vertexIds.length;
+		if(xs.length != n || ys.length != n || (parent != null && parent.length != n))
+			throw new IllegalArgumentException("vertex arrays must have the same length");
+		if(targets.length != sources.length || weights.length != sources.length)
+			throw new IllegalArgumentException("edge arrays must have the same length");
+		if(start < -1 || start >= n)
+			throw new IllegalArgumentException("start vertex " + start + " is not a vertex");
+		this.vertexIds = vertexIds;
+		this.xs = xs;
+		this.ys = ys;
+		this.sources = sources;
+		this.targets = targets;
+		this.weights = weights;
+		this.start = start;
+		this.parent = parent;
+	}
+
+	int vertexCount() {
+		return vertexIds.length;
+	}
+
+	int edgeCount() {
+		return sources.length;
+	}
+
+	void write(Path file, boolean compress) throws IOException {
+		try(FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			//The header is written last, when the checksum is known.
+			channel.position(HEADER_SIZE);
+			CRC32 crc = new CRC32();
+			Output out = compress ? new DeflatingOutput(channel, crc) : new Output(channel, crc);
+			out.ints(vertexIds);
+			out.ints(xs);
+			out.ints(ys);
+			out.ints(sources);
+			out.ints(targets);
+			out.ints(weights);
+			if(parent != null)
+				out.ints(parent);
+			out.finish();
+
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			header.putInt(MAGIC).putShort(VERSION).putShort((short) ((compress ? DEFLATED : 0) | (parent != null ? HAS_PARENT : 0)));
+			header.putInt(vertexCount()).putInt(edgeCount()).putInt(start).putInt((int) crc.getValue());
+			header.flip();
+			while(header.hasRemaining())
+				channel.write(header, header.position());
+		}
+	}
+
+	static GraphSnapshot read(Path file) throws IOException {
+		try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			while(header.hasRemaining())
+				if(channel.read(header) < 0)
+					throw new IOException(file.getFileName() + " is not a graph snapshot");
+			header.flip();
+			if(header.getInt() != MAGIC)
+				throw new IOException(file.getFileName() + " is not a graph snapshot");
+			int version = header.getShort();
+			if(version > VERSION)
+				throw new IOException("snapshot version " + version + " is newer than the supported version " + VERSION);
+			int flags = header.getShort();
+			int n = header.getInt();
+			int m = header.getInt();
+			int start = header.getInt();
+			int crc = header.getInt();
+			boolean hasParent = (flags & HAS_PARENT) != 0;
+			boolean deflated = (flags & DEFLATED) != 0;
+			long payload = 4L * (3L * n + 3L * m + (hasParent ? n : 0));
+			if(n < 0 || m < 0 || start < -1 || start >= n || (!deflated && channel.size() != HEADER_SIZE + payload)
+					|| (deflated && payload > MAX_DEFLATE_RATIO * channel.size()))
+				throw new IOException("snapshot header of " + file.getFileName() + " is corrupt");
+
+			CRC32 check = new CRC32();
+			Input in = deflated ? new InflatingInput(channel, check) : new Input(channel, check);
+			try {
+				int[] vertexIds = in.ints(n);
+				int[] xs = in.ints(n);
+				int[] ys = in.ints(n);
+				int[] sources = in.ints(m);
+				int[] targets = in.ints(m);
+				int[] weights = in.ints(m);
+				int[] parent = hasParent ? in.ints(n) : null;
+				in.end();
+				if((int) check.getValue() != crc)
+					throw new IOException("snapshot " + file.getFileName() + " is corrupt (checksum mismatch)");
+				validate(vertexIds, sources, targets, start, parent);
+				return new GraphSnapshot(vertexIds, xs, ys, sources, targets, weights, start, parent);
+			} finally {
+				in.close();
+			}
+		}
+	}
+
+	//A checksum only proves that the file wasn't damaged, not that it was written by the panel.
+	//Everything the panel uses as an index is checked here, so that loading can't fail half way on the event thread.
+	private static void validate(int[] vertexIds, int[] sources, int[] targets, int start, int[] parent) throws IOException {
+		int n = vertexIds.length;
+		long maxId = (long) n + MAX_UNUSED_IDS;
+		BitSet ids = new BitSet();
+		for(int id: vertexIds) {
+			if(id < 1 || id > maxId)
+				throw new IOException("snapshot is corrupt (vertex ID " + id + " out of range)");
+			if(ids.get(id))
+				throw new IOException("snapshot is corrupt (vertex ID " + id + " appears twice)");
+			ids.set(id);
+		}
+		LongHashSet edges = new LongHashSet(sources.length);
+		for(int i = 0; i < sources.length; i++) {
+			int u = sources[i];
+			int v = targets[i];
+			if(u < 0 || u >= n || v < 0 || v >= n || u == v)
+				throw new IOException("snapshot is corrupt (edge " + i + " doesn't connect two vertices)");
+			if(!edges.add(pair(u, v)))
+				throw new IOException("snapshot is corrupt (edge " + i + " appears twice)");
+		}
+		if(parent == null || n == 0)
+			return;
+		for(int v = 0; v < n; v++) {
+			int p = parent[v];
+			if(p == MSTResult.NO_PARENT)
+				continue;
+			if(p < 0 || p >= n || !edges.contains(pair(v, p)))
+				throw new IOException("snapshot is corrupt (vertex " + v + " has no edge to its parent)");
+		}
+
+		//The panel roots the tree at the start vertex, or at the first vertex if there is none, like showSnapshot.
+		//Every parent chain has to end there. A chain is walked until a vertex known to end at the root,
+		//walk[v] is 0 before, v + 1 while the walk from v runs and -1 once v is known to end at the root.
+		int root = start == -1 ? 0 : start;
+		if(parent[root] != MSTResult.NO_PARENT)
+			throw new IOException("snapshot is corrupt (the root of the tree has a parent)");
+		int[] walk = new int[n];
+		walk[root] = -1;
+		for(int v = 0; v < n; v++) {
+			if(parent[v] == MSTResult.NO_PARENT)
+				continue;
+			int x = v;
+			while(walk[x] == 0 && parent[x] != MSTResult.NO_PARENT) {
+				walk[x] = v + 1;
+				x = parent[x];
+			}
+			if(walk[x] != -1)
+				throw new IOException("snapshot is corrupt (the parents of vertex " + v + " don't lead to the root of the tree)");
+			for(x = v; walk[x] == v + 1; x = parent[x])
+				walk[x] = -1;
+		}
+	}
+
+	//Key of the unordered pair of vertex positions u and v.
+	private static long pair(int u, int v) {
+		return ((long) Math.min(u, v) << 32) | Math.max(u, v);
+	}
+
+	//Collects the arrays in a ByteBuffer and writes it to the channel whenever it is full.
+	private static class Output {
+		final FileChannel channel;
+		final CRC32 crc;
+		final ByteBuffer buffer = ByteBuffer.allocate(BUFFER);
+
+		Output(FileChannel channel, CRC32 crc) {
+			this.channel = channel;
+			this.crc = crc;
+		}
+
+		void ints(int[] values) throws IOException {
+			int i = 0;
+			while(i < values.length) {
+				if(buffer.remaining() < 4)
+					drain();
+				int count = Math.min(values.length - i, buffer.remaining() / 4);
+				buffer.asIntBuffer().put(values, i, count);
+				buffer.position(buffer.position() + 4 * count);
+				i += count;
+			}
+		}
+
+		void finish() throws IOException {
+			drain();
+		}
+
+		private void drain() throws IOException {
+			buffer.flip();
+			crc.update(buffer.array(), 0, buffer.limit());
+			write(buffer);
+			buffer.clear();
+		}
+
+		void write(ByteBuffer bytes) throws IOException {
+			while(bytes.hasRemaining())
+				channel.write(bytes);
+		}
+	}
+
+	private static final class DeflatingOutput extends Output {
+		private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		private final ByteBuffer compressed = ByteBuffer.allocate(BUFFER);
+
+		DeflatingOutput(FileChannel channel, CRC32 crc) {
+			super(channel, crc);
+		}
+
+		@Override
+		void write(ByteBuffer bytes) throws IOException {
+			deflater.setInput(bytes.array(), bytes.position(), bytes.remaining());
+			while(!deflater.needsInput())
+				deflate();
+			bytes.position(bytes.limit());
+		}
+
+		@Override
+		void finish() throws IOException {
+			super.finish();
+			deflater.finish();
+			while(!deflater.finished())
+				deflate();
+			deflater.end();
+		}
+
+		private void deflate() throws IOException {
+			int count = deflater.deflate(compressed.array(), 0, compressed.capacity());
+			compressed.clear();
+			compressed.limit(count);
+			super.write(compressed);
+		}
+	}
+
+	//Reads the arrays back from the channel through a ByteBuffer.
+	private static class Input {
+		final FileChannel channel;
+		final CRC32 crc;
+		final ByteBuffer buffer = ByteBuffer.allocate(BUFFER);
+
+		Input(FileChannel channel, CRC32 crc) {
+			this.channel = channel;
+			this.crc = crc;
+			buffer.limit(0);
+		}
+
+		int[] ints(int length) throws IOException {
+			int[] values = new int[length];
+			int i = 0;
+			while(i < length) {
+				if(buffer.remaining() < 4)
+					refill();
+				int count = Math.min(length - i, buffer.remaining() / 4);
+				buffer.asIntBuffer().get(values, i, count);
+				buffer.position(buffer.position() + 4 * count);
+				i += count;
+			}
+			return values;
+		}
+
+		private void refill() throws IOException {
+			buffer.compact();
+			int start = buffer.position();
+			if(fill(buffer) < 0)
+				throw new EOFException("snapshot is truncated");
+			crc.update(buffer.array(), start, buffer.position() - start);
+			buffer.flip();
+		}
+
+		//Append bytes to buffer, -1 at the end of the data.
+		int fill(ByteBuffer bytes) throws IOException {
+			return channel.read(bytes);
+		}
+
+		//Nothing may follow the arrays.
+		void end() throws IOException {
+			buffer.compact();
+			if(buffer.position() > 0 || fill(buffer) >= 0)
+				throw new IOException("snapshot is corrupt (data after the arrays)");
+		}
+
+		void close() {
+		}
+	}
+
+	private static final class InflatingInput extends Input {
+		private final Inflater inflater = new Inflater();
+		private final ByteBuffer compressed = ByteBuffer.allocate(BUFFER);
+
+		InflatingInput(FileChannel channel, CRC32 crc) {
+			super(channel, crc);
+		}
+
+		@Override
+		int fill(ByteBuffer bytes) throws IOException {
+			try {
+				while(!inflater.finished()) {
+					if(inflater.needsInput()) {
+						compressed.clear();
+						int read = channel.read(compressed);
+						if(read < 0)
+							return -1;
+						inflater.setInput(compressed.array(), 0, read);
+					}
+					int count = inflater.inflate(bytes.array(), bytes.position(), bytes.remaining());
+					if(count > 0) {
+						bytes.position(bytes.position() + count);
+						return count;
+					}
+					if(inflater.needsDictionary())
+						throw new IOException("snapshot is corrupt (unexpected deflate dictionary)");
+				}
+				return -1;
+			} catch(DataFormatException e) {
+				throw new IOException("snapshot is corrupt (" + e.getMessage() + ")", e);
+			}
+		}
+
+		//The deflate stream has to be complete and the last thing in the file.
+		@Override
+		void end() throws IOException {
+			super.end();
+			if(!inflater.finished())
+				throw new EOFException("snapshot is truncated");
+			if(inflater.getRemaining() > 0 || channel.position() != channel.size())
+				throw new IOException("snapshot is corrupt (data after the arrays)");
+		}
+
+		@Override
+		void close() {
+			inflater.end();
+		}
+	}
+}
@@ -0,0 +1,233 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import java.util.Arrays;
+
+//The vertices and edges of the panel as parallel primitive arrays, instead of an object per element
+//with its own Point, Rectangle, label String and incidence list.
+//Vertex attributes are indexed by the vertex ID, which is small and reused (see IdAllocator).
+//Edges live in slots which are handed out again after removal, edge e runs from source(e) to target(e).
+//The edges of a vertex form a doubly linked list through their arcs: arc 2e belongs to the source of e, arc 2e + 1 to its target.
+//Colors are the codes of StepTrace, DEFAULT being the look of the element in the cached layers.
+final class GraphStore {
+	static final int NONE = -1;
+	//Vertex flags.
+	static final int SELECTED = 1;
+	static final int START = 2;
+	//Vertex and edge flag: the element is dragged and not drawn into the cached layers.
+	static final int LIFTED = 4;
+
+	//Vertices by ID.
+	private int[] xs = new int[16];
+	private int[] ys = new int[16];
+	private byte[] vertexColors = new byte[16];
+	private byte[] vertexFlags = new byte[16];
+	//Position in the list of highlighted vertices of the panel, or NONE.
+	private int[] vertexHighlights = new int[16];
+	private int[] firstArcs = new int[16];
+
+	//Edges by slot.
+	private int[] ends = new int[32];
+	private int[] weights = new int[16];
+	private byte[] edgeColors = new byte[16];
+	private byte[] edgeFlags = new byte[16];
+	private int[] edgeHighlights = new int[16];
+	//Neighbours of every arc in the list of its vertex.
+	private int[] nextArcs = new int[32];
+	private int[] previousArcs = new int[32];
+	private int edgeSlots;
+	private final IntArrayList freeEdges = new IntArrayList();
+
+	//Room for the vertex IDs up to maxVertexID and edgeCount edges, so building a large graph doesn't grow the arrays step by step.
+	void ensureCapacity(int maxVertexID, int edgeCount) {
+		growVertices(maxVertexID + 1);
+		growEdges(edgeCount);
+	}
+
+	void addVertex(int vertexID, int x, int y) {
+		if(vertexID >= xs.length)
+			growVertices(Math.max(vertexID + 1, 2 * xs.length));
+		xs[vertexID] = x;
+		ys[vertexID] = y;
+		vertexColors[vertexID] = StepTrace.DEFAULT;
+		vertexFlags[vertexID] = 0;
+		vertexHighlights[vertexID] = NONE;
+		firstArcs[vertexID] = NONE;
+	}
+
+	//Only a vertex without edges can be removed, its ID may be added again afterwards.
+	void removeVertex(int vertexID) {
+		if(firstArcs[vertexID] != NONE)
+			throw new IllegalStateException("vertex " + vertexID + " still has edges");
+	}
+
+	int x(int vertexID) {
+		return xs[vertexID];
+	}
+
+	int y(int vertexID) {
+		return ys[vertexID];
+	}
+
+	void move(int vertexID, int dx, int dy) {
+		xs[vertexID] += dx;
+		ys[vertexID] += dy;
+	}
+
+	int vertexColor(int vertexID) {
+		return vertexColors[vertexID];
+	}
+
+	void setVertexColor(int vertexID, int color) {
+		vertexColors[vertexID] = (byte) color;
+	}
+
+	boolean hasFlag(int vertexID, int flag) {
+		return (vertexFlags[vertexID] & flag) != 0;
+	}
+
+	void setFlag(int vertexID, int flag, boolean set) {
+		vertexFlags[vertexID] = (byte) (set ? vertexFlags[vertexID] | flag : vertexFlags[vertexID] & ~flag);
+	}
+
+	int vertexHighlight(int vertexID) {
+		return vertexHighlights[vertexID];
+	}
+
+	void setVertexHighlight(int vertexID, int slot) {
+		vertexHighlights[vertexID] = slot;
+	}
+
+	//First arc of the edges of the vertex, or NONE.
+	int firstArc(int vertexID) {
+		return firstArcs[vertexID];
+	}
+
+	//Next arc after arc in the list of its vertex, or NONE.
+	int nextArc(int arc) {
+		return nextArcs[arc];
+	}
+
+	//Slot of a new edge, which is put at the front of the edge lists of both vertices.
+	int addEdge(int source, int target, int weight) {
+		int e;
+		if(freeEdges.size() > 0) {
+			e = freeEdges.removeLast();
+		} else {
+			if(edgeSlots == weights.length)
+				growEdges(2 * edgeSlots);
+			e = edgeSlots++;
+		}
+		ends[2 * e] = source;
+		ends[2 * e + 1] = target;
+		weights[e] = weight;
+		edgeColors[e] = StepTrace.DEFAULT;
+		edgeFlags[e] = 0;
+		edgeHighlights[e] = NONE;
+		linkArc(2 * e, source);
+		linkArc(2 * e + 1, target);
+		return e;
+	}
+
+	//Take the edge out of the edge lists of its vertices in O(1), its slot is reused.
+	void removeEdge(int e) {
+		unlinkArc(2 * e);
+		unlinkArc(2 * e + 1);
+		freeEdges.add(e);
+	}
+
+	int source(int e) {
+		return ends[2 * e];
+	}
+
+	int target(int e) {
+		return ends[2 * e + 1];
+	}
+
+	int weight(int e) {
+		return weights[e];
+	}
+
+	void setWeight(int e, int weight) {
+		weights[e] = weight;
+	}
+
+	int edgeColor(int e) {
+		return edgeColors[e];
+	}
+
+	void setEdgeColor(int e, int color) {
+		edgeColors[e] = (byte) color;
+	}
+
+	boolean isEdgeLifted(int e) {
+		return (edgeFlags[e] & LIFTED) != 0;
+	}
+
+	void setEdgeLifted(int e, boolean lifted) {
+		edgeFlags[e] = (byte) (lifted ? LIFTED : 0);
+	}
+
+	int edgeHighlight(int e) {
+		return edgeHighlights[e];
+	}
+
+	void setEdgeHighlight(int e, int slot) {
+		edgeHighlights[e] = slot;
+	}
+
+	//Forget all edges, the vertex arrays are overwritten when vertices are added again.
+	void clear() {
+		edgeSlots = 0;
+		freeEdges.clear();
+	}
+
+	private void linkArc(int arc, int vertexID) {
+		int first = firstArcs[vertexID];
+		nextArcs[arc] = first;
+		previousArcs[arc] = NONE;
+		if(first != NONE)
+			previousArcs[first] = arc;
+		firstArcs[vertexID] = arc;
+	}
+
+	private void unlinkArc(int arc) {
+		int next = nextArcs[arc];
+		int previous = previousArcs[arc];
+		if(previous != NONE)
+			nextArcs[previous] = next;
+		else
+			firstArcs[ends[arc]] = next;
+		if(next != NONE)
+			previousArcs[next] = previous;
+	}
+
+	private void growVertices(int capacity) {
+		if(capacity <= xs.length)
+			return;
+		xs = Arrays.copyOf(xs, capacity);
+		ys = Arrays.copyOf(ys, capacity);
+		vertexColors = Arrays.copyOf(vertexColors, capacity);
+		vertexFlags = Arrays.copyOf(vertexFlags, capacity);
+		vertexHighlights = Arrays.copyOf(vertexHighlights, capacity);
+		firstArcs = Arrays.copyOf(firstArcs, capacity);
+	}
+
+	private void growEdges(int capacity) {
+		if(capacity <= weights.length)
+			return;
+		ends = Arrays.copyOf(ends, 2 * capacity);
+		weights = Arrays.copyOf(weights, capacity);
+		edgeColors = Arrays.copyOf(edgeColors, capacity);
+		edgeFlags = Arrays.copyOf(edgeFlags, capacity);
+		edgeHighlights = Arrays.copyOf(edgeHighlights, capacity);
+		nextArcs = Arrays.copyOf(nextArcs, 2 * capacity);
+		previousArcs = Arrays.copyOf(previousArcs, 2 * capacity);
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+//Hands out vertex IDs: always the smallest positive ID which isn't in use.
+//All IDs from top on are free, the free IDs below top are kept in a binary min-heap.
+//The heap may hold IDs which were reserved again in the meantime, those are skipped when they reach the top,
+//so allocate, reserve and release all take O(log V) amortized time.
+final class IdAllocator {
+	private final BitSet used = new BitSet();
+	private int top = 1;
+	private int[] heap = new int[16];
+	private int size;
+
+	//The smallest free ID, which is in use from now on.
+	int allocate() {
+		while(size > 0) {
+			int id = poll();
+			if(!used.get(id)) {
+				used.set(id);
+				return id;
+			}
+		}
+		used.set(top);
+		return top++;
+	}
+
+	//Mark an ID which was chosen elsewhere (generated, imported or loaded vertices) as in use.
+	void reserve(int id) {
+		if(id < 1)
+			throw new IllegalArgumentException("vertex ID " + id + " is not positive");
+		used.set(id);
+		//The IDs skipped over are free.
+		for(; top < id; top++)
+			push(top);
+		top = Math.max(top, id + 1);
+	}
+
+	//The ID of a deleted vertex can be handed out again.
+	void release(int id) {
+		if(id < 1 || !used.get(id))
+			return;
+		used.clear(id);
+		push(id);
+	}
+
+	void clear() {
+		used.clear();
+		top = 1;
+		size = 0;
+	}
+
+	private void push(int id) {
+		if(size == heap.length)
+			heap = Arrays.copyOf(heap, 2 * size);
+		int i = size++;
+		while(i > 0 && heap[(i - 1) >> 1] > id) {
+			heap[i] = heap[(i - 1) >> 1];
+			i = (i - 1) >> 1;
+		}
+		heap[i] = id;
+	}
+
+	private int poll() {
+		int min = heap[0];
+		int last = heap[--size];
+		int i = 0;
+		while(true) {
+			int child = 2 * i + 1;
+			if(child >= size)
+				break;
+			if(child + 1 < size && heap[child + 1] < heap[child])
+				child++;
+			if(heap[child] >= last)
+				break;
+			heap[i] = heap[child];
+			i = child;
+		}
+		heap[i] = last;
+		return min;
+	}
+}
@@ -0,0 +1,46 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import java.util.Arrays;
+
+//Dense table from vertex IDs to the positions of the vertices in a list.
+//Vertex IDs are small positive numbers (the smallest free ID is always reused),
+//so a plain int array indexed by ID gives constant time lookups.
+final class IdIndexTable {
+	static final int ABSENT = -1;
+
+	private int[] table = new int[16];
+
+	IdIndexTable() {
+		Arrays.fill(table, ABSENT);
+	}
+
+	void put(int id, int index) {
+		if(id >= table.length) {
+			int oldLength = table.length;
+			table = Arrays.copyOf(table, Math.max(id + 1, 2 * oldLength));
+			Arrays.fill(table, oldLength, table.length, ABSENT);
+		}
+		table[id] = index;
+	}
+
+	//Position of the vertex with the given ID, or ABSENT.
+	int indexOf(int id) {
+		return id >= 0 && id < table.length ? table[id] : ABSENT;
+	}
+
+	void remove(int id) {
+		if(id >= 0 && id < table.length)
+			table[id] = ABSENT;
+	}
+
+	void clear() {
+		Arrays.fill(table, ABSENT);
+	}
+}
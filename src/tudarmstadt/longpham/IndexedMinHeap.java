@@ -0,0 +1,138 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+//Binary min-heap of the items 0 .. capacity-1 ordered by primitive int keys.
+//Besides the heap array it keeps the position of every item in the heap, so that
+//contains is O(1) and decreaseKey only sifts the item up in O(log n) instead of rebuilding the heap.
+public class IndexedMinHeap implements IntPriorityQueue {
+	private static final int ABSENT = -1;
+
+	private final int[] heap;
+	private final int[] position;
+	private final int[] keys;
+	private int size;
+
+	public IndexedMinHeap(int capacity) {
+		heap = new int[capacity];
+		position = new int[capacity];
+		keys = new int[capacity];
+		Arrays.fill(position, ABSENT);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public boolean contains(int item) {
+		return position[item] != ABSENT;
+	}
+
+	@Override
+	public int key(int item) {
+		return keys[item];
+	}
+
+	@Override
+	public void insert(int item, int key) {
+		if(contains(item))
+			throw new IllegalArgumentException("item " + item + " is already in the heap");
+		if(MSTStats.ENABLED)
+			MSTStats.INSERTS.increment();
+		keys[item] = key;
+		heap[size] = item;
+		position[item] = size;
+		siftUp(size++);
+	}
+
+	//Larger keys are rejected.
+	@Override
+	public void decreaseKey(int item, int key) {
+		if(key > keys[item])
+			throw new IllegalArgumentException("new key " + key + " is larger than the current key " + keys[item]);
+		if(MSTStats.ENABLED)
+			MSTStats.DECREASE_KEYS.increment();
+		keys[item] = key;
+		siftUp(position[item]);
+	}
+
+	@Override
+	public int peek() {
+		return size == 0 ? ABSENT : heap[0];
+	}
+
+	@Override
+	public int extractMin() {
+		if(size == 0)
+			throw new NoSuchElementException("the queue is empty");
+		if(MSTStats.ENABLED)
+			MSTStats.EXTRACT_MINS.increment();
+		int min = heap[0];
+		position[min] = ABSENT;
+		size--;
+		if(size > 0) {
+			heap[0] = heap[size];
+			position[heap[0]] = 0;
+			siftDown(0);
+		}
+		return min;
+	}
+
+	private void siftUp(int pos) {
+		int item = heap[pos];
+		int key = keys[item];
+		int comparisons = 0;
+		while(pos > 0) {
+			int parent = (pos - 1) >>> 1;
+			int parentItem = heap[parent];
+			comparisons++;
+			if(keys[parentItem] <= key)
+				break;
+			heap[pos] = parentItem;
+			position[parentItem] = pos;
+			pos = parent;
+		}
+		heap[pos] = item;
+		position[item] = pos;
+		if(MSTStats.ENABLED)
+			MSTStats.COMPARISONS.add(comparisons);
+	}
+
+	private void siftDown(int pos) {
+		int item = heap[pos];
+		int key = keys[item];
+		int half = size >>> 1;
+		int comparisons = 0;
+		while(pos < half) {
+			int child = 2 * pos + 1;
+			comparisons += child + 1 < size ? 2 : 1;
+			if(child + 1 < size && keys[heap[child + 1]] < keys[heap[child]])
+				child++;
+			int childItem = heap[child];
+			if(key <= keys[childItem])
+				break;
+			heap[pos] = childItem;
+			position[childItem] = pos;
+			pos = child;
+		}
+		heap[pos] = item;
+		position[item] = pos;
+		if(MSTStats.ENABLED)
+			MSTStats.COMPARISONS.add(comparisons);
+	}
+}
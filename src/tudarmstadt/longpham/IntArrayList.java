@@ -0,0 +1,60 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import java.util.Arrays;
+
+//Growable array of primitive ints, for collecting results whose size is not known in advance without boxing.
+final class IntArrayList {
+	private int[] values;
+	private int size;
+
+	IntArrayList() {
+		this(16);
+	}
+
+	IntArrayList(int capacity) {
+		values = new int[Math.max(1, capacity)];
+	}
+
+	int size() {
+		return size;
+	}
+
+	int get(int i) {
+		return values[i];
+	}
+
+	void set(int i, int value) {
+		values[i] = value;
+	}
+
+	void add(int value) {
+		if(size == values.length)
+			values = Arrays.copyOf(values, size + Math.max(size >> 1, 1));
+		values[size++] = value;
+	}
+
+	//Remove and return the last value.
+	int removeLast() {
+		return values[--size];
+	}
+
+	void clear() {
+		size = 0;
+	}
+
+	int[] toArray() {
+		return Arrays.copyOf(values, size);
+	}
+
+	//Copy the values to dest starting at position.
+	void copyTo(int[] dest, int position) {
+		System.arraycopy(values, 0, dest, position, size);
+	}
+}
@@ -0,0 +1,33 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+//Min-priority queue of the items 0 .. capacity-1 with primitive int keys and decrease-key,
+//which is everything Prim's algorithm needs. The implementations are chosen through QueueKind.
+public interface IntPriorityQueue {
+
+	int size();
+
+	boolean isEmpty();
+
+	boolean contains(int item);
+
+	//Key of an item which is in the queue.
+	int key(int item);
+
+	void insert(int item, int key);
+
+	//Lower the key of an item in the queue.
+	void decreaseKey(int item, int key);
+
+	//The item with the smallest key, without removing it, or -1 if the queue is empty.
+	int peek();
+
+	//Remove and return the item with the smallest key, NoSuchElementException if the queue is empty.
+	int extractMin();
+}
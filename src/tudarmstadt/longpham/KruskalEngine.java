@@ -0,0 +1,151 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import java.util.Arrays;
+import java.util.Random;
+
+//Kruskal's algorithm: the edges are sorted by weight (as weight and edge index packed into longs,
+//with Arrays.parallelSort) and added in this order unless they close a cycle, checked with a union-find.
+//In filter mode (Filter-Kruskal) the edges are split around a pivot weight first. After the light half
+//is done, heavy edges inside one component are dropped before they are ever sorted, which pays off on sparse graphs.
+public class KruskalEngine implements MSTEngine {
+	//Below this number of edges Filter-Kruskal stops splitting and sorts.
+	private static final int FILTER_THRESHOLD = 1 << 12;
+
+	private final boolean filter;
+
+	public KruskalEngine() {
+		this(false);
+	}
+
+	public KruskalEngine(boolean filter) {
+		this.filter = filter;
+	}
+
+	@Override
+	public MSTResult findMST(CsrGraph graph, int source) {
+		if(source < 0 || source >= graph.vertexCount())
+			throw new IllegalArgumentException("source vertex " + source + " is not in the graph");
+		EdgeList edges = EdgeList.fromCsr(graph);
+		Run run = new Run(edges, false);
+		run.execute();
+		return MSTResult.fromForest(edges, source, run.tree, run.treeSize);
+	}
+
+	//Every decision of the algorithm in order: e for an accepted edge, ~e for a rejected one.
+	//Edges which are never looked at, because the forest is complete before, don't appear.
+	int[] decisions(EdgeList edges) {
+		Run run = new Run(edges, true);
+		run.execute();
+		return Arrays.copyOf(run.log, run.logSize);
+	}
+
+	private static long pack(int weight, int edge) {
+		return ((long) weight << 32) | edge;
+	}
+
+	//State of one execution.
+	private class Run {
+		private final EdgeList edges;
+		private final UnionFind components;
+		private final int[] tree;
+		private int treeSize;
+		private final int[] log;
+		private int logSize;
+		private final Random rnd = new Random(0);
+
+		Run(EdgeList edges, boolean logDecisions) {
+			this.edges = edges;
+			components = new UnionFind(edges.vertexCount);
+			tree = new int[Math.max(0, edges.vertexCount - 1)];
+			log = logDecisions ? new int[edges.size()] : null;
+		}
+
+		void execute() {
+			long[] packed = new long[edges.size()];
+			for(int e = 0; e < packed.length; e++)
+				packed[e] = pack(edges.weights[e], e);
+			if(filter)
+				filterKruskal(packed, 0, packed.length);
+			else
+				kruskal(packed, 0, packed.length);
+		}
+
+		private boolean complete() {
+			return treeSize == tree.length;
+		}
+
+		private void kruskal(long[] packed, int from, int to) {
+			Arrays.parallelSort(packed, from, to);
+			for(int i = from; i < to && !complete(); i++) {
+				int e = (int) packed[i];
+				if(components.union(edges.sources[e], edges.targets[e])) {
+					tree[treeSize++] = e;
+					record(e);
+				} else {
+					record(~e);
+				}
+			}
+		}
+
+		private void filterKruskal(long[] packed, int from, int to) {
+			if(complete())
+				return;
+			if(to - from <= FILTER_THRESHOLD) {
+				kruskal(packed, from, to);
+				return;
+			}
+
+			//Split around a random pivot, the light part [from, middle) goes first.
+			long pivot = packed[from + rnd.nextInt(to - from)];
+			int middle = partition(packed, from, to, pivot);
+			if(middle == to) {
+				//The pivot was the heaviest edge, nothing to split off.
+				kruskal(packed, from, to);
+				return;
+			}
+			filterKruskal(packed, from, middle);
+			int end = filter(packed, middle, to);
+			filterKruskal(packed, middle, end);
+		}
+
+		//Move the entries <= pivot to the front of the range and return where the rest starts.
+		private int partition(long[] packed, int from, int to, long pivot) {
+			int i = from;
+			for(int j = from; j < to; j++)
+				if(packed[j] <= pivot) {
+					long temp = packed[i];
+					packed[i] = packed[j];
+					packed[j] = temp;
+					i++;
+				}
+			return i;
+		}
+
+		//Drop the edges whose endpoints are in the same component already and return the end of the remaining ones.
+		private int filter(long[] packed, int from, int to) {
+			if(complete())
+				return from;
+			int kept = from;
+			for(int i = from; i < to; i++) {
+				int e = (int) packed[i];
+				if(components.find(edges.sources[e]) != components.find(edges.targets[e]))
+					packed[kept++] = packed[i];
+				else
+					record(~e);
+			}
+			return kept;
+		}
+
+		private void record(int decision) {
+			if(log != null)
+				log[logSize++] = decision;
+		}
+	}
+}
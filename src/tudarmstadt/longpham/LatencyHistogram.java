@@ -0,0 +1,91 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+//Histogram of latencies in nanoseconds with log-linear buckets in the style of HdrHistogram:
+//every power of two range is split into SUB_BUCKETS linear buckets, so a recorded value is off by
+//less than 1/SUB_BUCKETS (about 6%) whatever its magnitude, with a fixed array of counters and no allocation.
+//Values can be recorded from any thread.
+final class LatencyHistogram {
+	private static final int SUB_BITS = 4;
+	private static final int SUB_BUCKETS = 1 << SUB_BITS;
+	//Enough buckets for every non-negative long.
+	private static final int BUCKETS = (63 - SUB_BITS + 1) * SUB_BUCKETS + SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder total = new LongAdder();
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+	void record(long nanos) {
+		long value = Math.max(0, nanos);
+		counts.incrementAndGet(bucket(value));
+		count.increment();
+		total.add(value);
+		max.accumulate(value);
+	}
+
+	long count() {
+		return count.sum();
+	}
+
+	long max() {
+		return max.get();
+	}
+
+	double mean() {
+		long n = count.sum();
+		return n == 0 ? 0 : (double) total.sum() / n;
+	}
+
+	//The value below which the given percentage (0 .. 100) of the recorded values lie,
+	//reported as the upper end of its bucket, 0 if nothing was recorded.
+	long percentile(double percent) {
+		long n = count.sum();
+		if(n == 0)
+			return 0;
+		long rank = Math.max(1, (long) Math.ceil(percent / 100 * n));
+		long seen = 0;
+		for(int i = 0; i < BUCKETS; i++) {
+			seen += counts.get(i);
+			if(seen >= rank)
+				return Math.min(max(), lowest(i + 1) - 1);
+		}
+		return max();
+	}
+
+	void reset() {
+		for(int i = 0; i < BUCKETS; i++)
+			counts.set(i, 0);
+		count.reset();
+		total.reset();
+		max.reset();
+	}
+
+	//Values below SUB_BUCKETS have their own bucket, above that the highest SUB_BITS + 1 bits choose it.
+	private static int bucket(long value) {
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		if(exponent < SUB_BITS)
+			return (int) value;
+		return (exponent - SUB_BITS + 1) * SUB_BUCKETS + (int) ((value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1));
+	}
+
+	//Smallest value which falls into bucket i.
+	private static long lowest(int i) {
+		if(i < SUB_BUCKETS)
+			return i;
+		int exponent = i / SUB_BUCKETS + SUB_BITS - 1;
+		if(exponent > 62)
+			return Long.MAX_VALUE;
+		return (long) (SUB_BUCKETS + i % SUB_BUCKETS) << (exponent - SUB_BITS);
+	}
+}
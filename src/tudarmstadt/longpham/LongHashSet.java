@@ -0,0 +1,98 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import java.util.Arrays;
+
+//Open-addressing hash set of primitive longs with linear probing, the set counterpart of LongIntHashMap.
+final class LongHashSet {
+	//Key 0 marks an empty slot, whether 0 itself is in the set is stored aside.
+	private static final long FREE = 0L;
+
+	private long[] keys;
+	private int mask;
+	private int size;
+	private boolean hasFreeKey;
+
+	LongHashSet(int expectedSize) {
+		int capacity = 16;
+		while(capacity < 2L * expectedSize)
+			capacity <<= 1;
+		keys = new long[capacity];
+		mask = capacity - 1;
+	}
+
+	int size() {
+		return size;
+	}
+
+	boolean contains(long key) {
+		if(key == FREE)
+			return hasFreeKey;
+		int slot = slot(key, mask);
+		while(keys[slot] != FREE) {
+			if(keys[slot] == key)
+				return true;
+			slot = (slot + 1) & mask;
+		}
+		return false;
+	}
+
+	//Add key, return false if it was in the set already.
+	boolean add(long key) {
+		if(key == FREE) {
+			if(hasFreeKey)
+				return false;
+			hasFreeKey = true;
+			size++;
+			return true;
+		}
+		int slot = slot(key, mask);
+		while(keys[slot] != FREE) {
+			if(keys[slot] == key)
+				return false;
+			slot = (slot + 1) & mask;
+		}
+		keys[slot] = key;
+		//Keep the table at most half full.
+		if(++size > (mask + 1) >>> 1)
+			rehash();
+		return true;
+	}
+
+	void clear() {
+		Arrays.fill(keys, FREE);
+		hasFreeKey = false;
+		size = 0;
+	}
+
+	private void rehash() {
+		long[] oldKeys = keys;
+		keys = new long[2 * oldKeys.length];
+		mask = keys.length - 1;
+		for(long key : oldKeys) {
+			if(key != FREE) {
+				int slot = slot(key, mask);
+				while(keys[slot] != FREE)
+					slot = (slot + 1) & mask;
+				keys[slot] = key;
+			}
+		}
+	}
+
+	//Spread the bits of the key (the finalizer of MurmurHash3) before taking the slot.
+	private static int slot(long key, int mask) {
+		long h = key;
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return (int) h & mask;
+	}
+}
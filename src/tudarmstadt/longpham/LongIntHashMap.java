@@ -0,0 +1,178 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import java.util.Arrays;
+
+//Open-addressing hash map from primitive long keys to int values, without boxing or entry objects.
+//Collisions are resolved by linear probing, removal shifts the following entries back
+//so that no tombstones are left behind.
+final class LongIntHashMap {
+	//Key 0 marks an empty slot, the entry with key 0 itself is stored aside.
+	private static final long FREE = 0L;
+
+	private final int missingValue;
+	private long[] keys;
+	private int[] values;
+	private int mask;
+	private int size;
+	private boolean hasFreeKey;
+	private int freeKeyValue;
+
+	LongIntHashMap(int missingValue) {
+		this(missingValue, 16);
+	}
+
+	LongIntHashMap(int missingValue, int expectedSize) {
+		this.missingValue = missingValue;
+		allocate(tableSizeFor(expectedSize));
+	}
+
+	int size() {
+		return size;
+	}
+
+	//Value of key, or the missing value given to the constructor.
+	int get(long key) {
+		if(key == FREE)
+			return hasFreeKey ? freeKeyValue : missingValue;
+		int slot = slot(key);
+		while(keys[slot] != FREE) {
+			if(keys[slot] == key)
+				return values[slot];
+			slot = (slot + 1) & mask;
+		}
+		return missingValue;
+	}
+
+	boolean containsKey(long key) {
+		if(key == FREE)
+			return hasFreeKey;
+		int slot = slot(key);
+		while(keys[slot] != FREE) {
+			if(keys[slot] == key)
+				return true;
+			slot = (slot + 1) & mask;
+		}
+		return false;
+	}
+
+	//Associate value with key, returning the previous value or the missing value.
+	int put(long key, int value) {
+		if(key == FREE) {
+			int previous = hasFreeKey ? freeKeyValue : missingValue;
+			if(!hasFreeKey)
+				size++;
+			hasFreeKey = true;
+			freeKeyValue = value;
+			return previous;
+		}
+		int slot = slot(key);
+		while(keys[slot] != FREE) {
+			if(keys[slot] == key) {
+				int previous = values[slot];
+				values[slot] = value;
+				return previous;
+			}
+			slot = (slot + 1) & mask;
+		}
+		keys[slot] = key;
+		values[slot] = value;
+		//Keep the table at most half full.
+		if(++size > (mask + 1) >>> 1)
+			rehash(2 * (mask + 1));
+		return missingValue;
+	}
+
+	//Remove key, returning its value or the missing value.
+	int remove(long key) {
+		if(key == FREE) {
+			if(!hasFreeKey)
+				return missingValue;
+			hasFreeKey = false;
+			size--;
+			return freeKeyValue;
+		}
+		int slot = slot(key);
+		while(keys[slot] != FREE) {
+			if(keys[slot] == key) {
+				int previous = values[slot];
+				shiftBack(slot);
+				size--;
+				return previous;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return missingValue;
+	}
+
+	void clear() {
+		Arrays.fill(keys, FREE);
+		hasFreeKey = false;
+		size = 0;
+	}
+
+	//Close the gap at slot by moving back the entries of the same probe run which could not sit in their own slot.
+	private void shiftBack(int gap) {
+		int slot = gap;
+		while(true) {
+			slot = (slot + 1) & mask;
+			long key = keys[slot];
+			if(key == FREE)
+				break;
+			int home = slot(key);
+			//Move the entry if its home slot is not inside the cyclic range (gap, slot].
+			if(gap <= slot ? (home <= gap || home > slot) : (home <= gap && home > slot)) {
+				keys[gap] = key;
+				values[gap] = values[slot];
+				gap = slot;
+			}
+		}
+		keys[gap] = FREE;
+	}
+
+	private void rehash(int capacity) {
+		long[] oldKeys = keys;
+		int[] oldValues = values;
+		allocate(capacity);
+		for(int i = 0; i < oldKeys.length; i++) {
+			long key = oldKeys[i];
+			if(key != FREE) {
+				int slot = slot(key);
+				while(keys[slot] != FREE)
+					slot = (slot + 1) & mask;
+				keys[slot] = key;
+				values[slot] = oldValues[i];
+			}
+		}
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		values = new int[capacity];
+		mask = capacity - 1;
+	}
+
+	//Spread the bits of the key (the finalizer of MurmurHash3) before taking the slot.
+	private int slot(long key) {
+		long h = key;
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return (int) h & mask;
+	}
+
+	private static int tableSizeFor(int expectedSize) {
+		int capacity = 16;
+		while(capacity < 2L * expectedSize)
+			capacity <<= 1;
+		return capacity;
+	}
+}
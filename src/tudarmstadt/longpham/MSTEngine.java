@@ -0,0 +1,16 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+//Headless MST computation. An engine works on a CsrGraph only, so it can run without
+//a GraphPanel, e.g. in batch jobs, and the panel is just one of its consumers.
+public interface MSTEngine {
+
+	//Compute the minimum spanning tree of the component which contains source.
+	MSTResult findMST(CsrGraph graph, int source);
+}
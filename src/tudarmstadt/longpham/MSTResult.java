@@ -0,0 +1,113 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import java.util.Arrays;
+
+//Result of an MST computation on a CsrGraph.
+//parent[v] is the vertex which connects v to the tree (-1 for the start vertex and for unreached vertices),
+//key[v] is the weight of that edge (0 for the start vertex, Integer.MAX_VALUE for unreached vertices).
+public final class MSTResult {
+	public static final int NO_PARENT = -1;
+
+	private final int source;
+	private final int[] parent;
+	private final int[] key;
+
+	public MSTResult(int source, int[] parent, int[] key) {
+		if(parent.length != key.length)
+			throw new IllegalArgumentException("parent and key arrays must have the same length");
+		this.source = source;
+		this.parent = parent;
+		this.key = key;
+	}
+
+	public int source() {
+		return source;
+	}
+
+	public int[] parent() {
+		return parent;
+	}
+
+	public int[] key() {
+		return key;
+	}
+
+	//A vertex is part of the tree when it is the start vertex or it has a parent.
+	public boolean isReached(int v) {
+		return v == source || parent[v] != NO_PARENT;
+	}
+
+	//Number of edges in the tree.
+	public int edgeCount() {
+		int count = 0;
+		for(int p : parent)
+			if(p != NO_PARENT)
+				count++;
+		return count;
+	}
+
+	//Sum of the weights of all tree edges.
+	public long totalWeight() {
+		long total = 0;
+		for(int v = 0; v < parent.length; v++)
+			if(parent[v] != NO_PARENT)
+				total += key[v];
+		return total;
+	}
+
+	//Root the tree edges of a spanning forest at source, e.g. for the engines which don't grow a single tree.
+	//treeEdges[0 .. count-1] are indices into edges, only the tree which contains source is kept.
+	static MSTResult fromForest(EdgeList edges, int source, int[] treeEdges, int count) {
+		int n = edges.vertexCount;
+
+		//Adjacency of the forest in CSR form, arc i points to the tree edge forestEdge[i].
+		int[] offsets = new int[n + 1];
+		for(int i = 0; i < count; i++) {
+			offsets[edges.sources[treeEdges[i]] + 1]++;
+			offsets[edges.targets[treeEdges[i]] + 1]++;
+		}
+		for(int v = 0; v < n; v++)
+			offsets[v + 1] += offsets[v];
+		int[] fill = Arrays.copyOf(offsets, n);
+		int[] forestEdge = new int[2 * count];
+		for(int i = 0; i < count; i++) {
+			forestEdge[fill[edges.sources[treeEdges[i]]]++] = treeEdges[i];
+			forestEdge[fill[edges.targets[treeEdges[i]]]++] = treeEdges[i];
+		}
+
+		int[] parent = new int[n];
+		int[] key = new int[n];
+		Arrays.fill(parent, NO_PARENT);
+		Arrays.fill(key, Integer.MAX_VALUE);
+		key[source] = 0;
+
+		//Breadth-first search from source, the queue array doubles as the visited order.
+		boolean[] visited = new boolean[n];
+		int[] queue = new int[n];
+		int head = 0;
+		int tail = 0;
+		queue[tail++] = source;
+		visited[source] = true;
+		while(head < tail) {
+			int u = queue[head++];
+			for(int a = offsets[u]; a < offsets[u + 1]; a++) {
+				int e = forestEdge[a];
+				int v = edges.sources[e] == u ? edges.targets[e] : edges.sources[e];
+				if(!visited[v]) {
+					visited[v] = true;
+					parent[v] = u;
+					key[v] = edges.weights[e];
+					queue[tail++] = v;
+				}
+			}
+		}
+		return new MSTResult(source, parent, key);
+	}
+}
@@ -0,0 +1,65 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+//Command line report of how BoruvkaEngine scales from 1 to N threads, with PrimEngine as the sequential baseline.
+//Usage: MSTScalingReport [vertices] [edges] [maxThreads] [seed]
+public class MSTScalingReport {
+	private static final int WARMUP_RUNS = 2;
+	private static final int MEASURED_RUNS = 5;
+
+	public static void main(String[] args) {
+		int n = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+		int m = args.length > 1 ? Integer.parseInt(args[1]) : 8 * n;
+		int maxThreads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+		long seed = args.length > 3 ? Long.parseLong(args[3]) : 42L;
+
+		CsrGraph graph = new GraphGenerator(GraphModel.SPANNING_TREE, n, m, seed).generate();
+		System.out.printf(Locale.ROOT, "graph: %d vertices, %d edges, seed %d%n", n, graph.arcCount() / 2, seed);
+
+		long primWeight = new PrimEngine().findMST(graph, 0).totalWeight();
+		double primMillis = measure(new PrimEngine(), graph);
+		System.out.printf(Locale.ROOT, "%-10s %8s %12s %10s %s%n", "engine", "threads", "time (ms)", "speedup", "weight");
+		System.out.printf(Locale.ROOT, "%-10s %8d %12.1f %10s %d%n", "prim", 1, primMillis, "-", primWeight);
+
+		double oneThreadMillis = 0;
+		for(int threads = 1; threads <= maxThreads; threads = nextThreadCount(threads, maxThreads)) {
+			BoruvkaEngine engine = new BoruvkaEngine(threads);
+			long weight = engine.findMST(graph, 0).totalWeight();
+			double millis = measure(engine, graph);
+			if(threads == 1)
+				oneThreadMillis = millis;
+			System.out.printf(Locale.ROOT, "%-10s %8d %12.1f %10.2f %d%s%n", "boruvka", threads, millis,
+					oneThreadMillis / millis, weight, weight == primWeight ? "" : "  (differs from prim!)");
+		}
+	}
+
+	//1, 2, 4, ... and maxThreads itself.
+	private static int nextThreadCount(int threads, int maxThreads) {
+		if(threads == maxThreads)
+			return maxThreads + 1;
+		return Math.min(2 * threads, maxThreads);
+	}
+
+	//Median time of the measured runs in milliseconds.
+	private static double measure(MSTEngine engine, CsrGraph graph) {
+		for(int i = 0; i < WARMUP_RUNS; i++)
+			engine.findMST(graph, 0);
+		long[] times = new long[MEASURED_RUNS];
+		for(int i = 0; i < MEASURED_RUNS; i++) {
+			long start = System.nanoTime();
+			engine.findMST(graph, 0);
+			times[i] = System.nanoTime() - start;
+		}
+		Arrays.sort(times);
+		return times[MEASURED_RUNS / 2] / 1e6;
+	}
+}
@@ -0,0 +1,165 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+//Counters of the MST path (priority queue operations, key comparisons, relaxations, edge lookups)
+//and latency histograms of animation steps and repaints.
+//Everything is switched on with -Dmst.stats=true. ENABLED is a static final constant, so with the flag off
+//the JIT removes the guarded "if(MSTStats.ENABLED)" blocks from the hot loops completely.
+//Hot loops count into locals and add them to the LongAdders once per operation, so the counters stay cheap
+//even when several engines run at the same time.
+public final class MSTStats implements MSTStatsMBean {
+	public static final boolean ENABLED = Boolean.getBoolean("mst.stats");
+	private static final String NAME = "tudarmstadt.longpham:type=MSTStats";
+
+	static final LongAdder EXTRACT_MINS = new LongAdder();
+	static final LongAdder INSERTS = new LongAdder();
+	static final LongAdder DECREASE_KEYS = new LongAdder();
+	static final LongAdder COMPARISONS = new LongAdder();
+	static final LongAdder RELAXATIONS = new LongAdder();
+	static final LongAdder EDGE_LOOKUPS = new LongAdder();
+	static final LatencyHistogram STEP_LATENCY = new LatencyHistogram();
+	static final LatencyHistogram PAINT_LATENCY = new LatencyHistogram();
+
+	private static boolean registered;
+
+	//Register the MBean with the platform MBean server, once and only if the stats are enabled.
+	public static synchronized void register() {
+		if(!ENABLED || registered)
+			return;
+		try {
+			ManagementFactory.getPlatformMBeanServer().registerMBean(new MSTStats(), new ObjectName(NAME));
+		} catch(InstanceAlreadyExistsException e) {
+			//Another class loader registered it already, its counters are the ones being scraped.
+		} catch(JMException e) {
+			throw new IllegalStateException("could not register " + NAME, e);
+		}
+		registered = true;
+	}
+
+	//The counters as text lines, e.g. for an overlay.
+	static String[] summary() {
+		return new String[] {
+			"extract-min " + EXTRACT_MINS.sum() + "  insert " + INSERTS.sum() + "  decrease-key " + DECREASE_KEYS.sum(),
+			"comparisons " + COMPARISONS.sum() + "  relaxations " + RELAXATIONS.sum() + "  edge lookups " + EDGE_LOOKUPS.sum(),
+			"step us p50 " + micros(STEP_LATENCY.percentile(50)) + "  p99 " + micros(STEP_LATENCY.percentile(99))
+					+ "  max " + micros(STEP_LATENCY.max()) + "  (" + STEP_LATENCY.count() + " steps)",
+			"paint us p50 " + micros(PAINT_LATENCY.percentile(50)) + "  p99 " + micros(PAINT_LATENCY.percentile(99))
+					+ "  max " + micros(PAINT_LATENCY.max()) + "  (" + PAINT_LATENCY.count() + " paints)"
+		};
+	}
+
+	private static long micros(long nanos) {
+		return TimeUnit.NANOSECONDS.toMicros(nanos);
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return ENABLED;
+	}
+
+	@Override
+	public long getExtractMinCount() {
+		return EXTRACT_MINS.sum();
+	}
+
+	@Override
+	public long getInsertCount() {
+		return INSERTS.sum();
+	}
+
+	@Override
+	public long getDecreaseKeyCount() {
+		return DECREASE_KEYS.sum();
+	}
+
+	@Override
+	public long getComparisonCount() {
+		return COMPARISONS.sum();
+	}
+
+	@Override
+	public long getRelaxationCount() {
+		return RELAXATIONS.sum();
+	}
+
+	@Override
+	public long getEdgeLookupCount() {
+		return EDGE_LOOKUPS.sum();
+	}
+
+	@Override
+	public long getStepCount() {
+		return STEP_LATENCY.count();
+	}
+
+	@Override
+	public double getStepLatencyMeanMicros() {
+		return STEP_LATENCY.mean() / 1000;
+	}
+
+	@Override
+	public long getStepLatencyP50Micros() {
+		return micros(STEP_LATENCY.percentile(50));
+	}
+
+	@Override
+	public long getStepLatencyP99Micros() {
+		return micros(STEP_LATENCY.percentile(99));
+	}
+
+	@Override
+	public long getStepLatencyMaxMicros() {
+		return micros(STEP_LATENCY.max());
+	}
+
+	@Override
+	public long getPaintCount() {
+		return PAINT_LATENCY.count();
+	}
+
+	@Override
+	public double getPaintLatencyMeanMicros() {
+		return PAINT_LATENCY.mean() / 1000;
+	}
+
+	@Override
+	public long getPaintLatencyP50Micros() {
+		return micros(PAINT_LATENCY.percentile(50));
+	}
+
+	@Override
+	public long getPaintLatencyP99Micros() {
+		return micros(PAINT_LATENCY.percentile(99));
+	}
+
+	@Override
+	public long getPaintLatencyMaxMicros() {
+		return micros(PAINT_LATENCY.max());
+	}
+
+	@Override
+	public void reset() {
+		EXTRACT_MINS.reset();
+		INSERTS.reset();
+		DECREASE_KEYS.reset();
+		COMPARISONS.reset();
+		RELAXATIONS.reset();
+		EDGE_LOOKUPS.reset();
+		STEP_LATENCY.reset();
+		PAINT_LATENCY.reset();
+	}
+}
@@ -0,0 +1,50 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+//Management interface of MSTStats, registered as tudarmstadt.longpham:type=MSTStats.
+//Latencies are in microseconds.
+public interface MSTStatsMBean {
+
+	boolean isEnabled();
+
+	long getExtractMinCount();
+
+	long getInsertCount();
+
+	long getDecreaseKeyCount();
+
+	long getComparisonCount();
+
+	long getRelaxationCount();
+
+	long getEdgeLookupCount();
+
+	long getStepCount();
+
+	double getStepLatencyMeanMicros();
+
+	long getStepLatencyP50Micros();
+
+	long getStepLatencyP99Micros();
+
+	long getStepLatencyMaxMicros();
+
+	long getPaintCount();
+
+	double getPaintLatencyMeanMicros();
+
+	long getPaintLatencyP50Micros();
+
+	long getPaintLatencyP99Micros();
+
+	long getPaintLatencyMaxMicros();
+
+	//Set all counters and histograms back to zero.
+	void reset();
+}
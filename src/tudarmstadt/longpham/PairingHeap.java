@@ -0,0 +1,155 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+//Pairing heap over the items 0 .. capacity-1. The tree is stored in int arrays
+//(first child, next sibling and previous sibling or parent), so no node objects are created.
+//insert and decreaseKey are O(1), extractMin uses the usual two-pass pairing of the root's children.
+public class PairingHeap implements IntPriorityQueue {
+	private static final int NONE = -1;
+
+	private final int[] keys;
+	private final int[] child;
+	private final int[] next;
+	//Previous sibling, or the parent for the first child.
+	private final int[] prev;
+	private final boolean[] inHeap;
+	//Scratch space for the subtrees combined in extractMin.
+	private final int[] pairs;
+	private int root = NONE;
+	private int size;
+
+	public PairingHeap(int capacity) {
+		keys = new int[capacity];
+		child = new int[capacity];
+		next = new int[capacity];
+		prev = new int[capacity];
+		inHeap = new boolean[capacity];
+		pairs = new int[capacity];
+		Arrays.fill(child, NONE);
+		Arrays.fill(next, NONE);
+		Arrays.fill(prev, NONE);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public boolean contains(int item) {
+		return inHeap[item];
+	}
+
+	@Override
+	public int key(int item) {
+		return keys[item];
+	}
+
+	@Override
+	public void insert(int item, int key) {
+		if(inHeap[item])
+			throw new IllegalArgumentException("item " + item + " is already in the heap");
+		if(MSTStats.ENABLED)
+			MSTStats.INSERTS.increment();
+		keys[item] = key;
+		inHeap[item] = true;
+		child[item] = next[item] = prev[item] = NONE;
+		root = root == NONE ? item : link(root, item);
+		size++;
+	}
+
+	@Override
+	public void decreaseKey(int item, int key) {
+		if(key > keys[item])
+			throw new IllegalArgumentException("new key " + key + " is larger than the current key " + keys[item]);
+		if(MSTStats.ENABLED)
+			MSTStats.DECREASE_KEYS.increment();
+		keys[item] = key;
+		if(item == root)
+			return;
+
+		//Cut the subtree of item out of its parent and meld it with the root.
+		int before = prev[item];
+		if(child[before] == item)
+			child[before] = next[item];
+		else
+			next[before] = next[item];
+		if(next[item] != NONE)
+			prev[next[item]] = before;
+		next[item] = prev[item] = NONE;
+		root = link(root, item);
+	}
+
+	@Override
+	public int peek() {
+		return root;
+	}
+
+	@Override
+	public int extractMin() {
+		if(size == 0)
+			throw new NoSuchElementException("the queue is empty");
+		if(MSTStats.ENABLED)
+			MSTStats.EXTRACT_MINS.increment();
+		int min = root;
+		inHeap[min] = false;
+		size--;
+
+		//First pass: link the children of the root pairwise from left to right.
+		int count = 0;
+		int a = child[min];
+		while(a != NONE) {
+			int b = next[a];
+			if(b == NONE) {
+				next[a] = prev[a] = NONE;
+				pairs[count++] = a;
+				break;
+			}
+			int rest = next[b];
+			next[a] = prev[a] = next[b] = prev[b] = NONE;
+			pairs[count++] = link(a, b);
+			a = rest;
+		}
+
+		//Second pass: link the pairs from right to left into the new root.
+		root = NONE;
+		if(count > 0) {
+			root = pairs[count - 1];
+			for(int i = count - 2; i >= 0; i--)
+				root = link(pairs[i], root);
+		}
+		child[min] = NONE;
+		return min;
+	}
+
+	//Link two detached trees, the one with the larger key becomes the first child of the other.
+	private int link(int a, int b) {
+		if(MSTStats.ENABLED)
+			MSTStats.COMPARISONS.increment();
+		if(keys[b] < keys[a]) {
+			int temp = a;
+			a = b;
+			b = temp;
+		}
+		next[b] = child[a];
+		if(child[a] != NONE)
+			prev[child[a]] = b;
+		prev[b] = a;
+		child[a] = b;
+		return a;
+	}
+}
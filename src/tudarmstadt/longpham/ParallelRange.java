@@ -0,0 +1,57 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+//Fork-join loop over an index range: the range is halved until a piece is small enough
+//to run sequentially, and the pieces are spread over the threads of the pool.
+final class ParallelRange extends RecursiveAction {
+	//Smallest piece worth a task of its own.
+	static final int GRAIN = 1 << 13;
+
+	interface Body {
+		void run(int from, int to);
+	}
+
+	private final Body body;
+	private final int from;
+	private final int to;
+	private final int grain;
+
+	private ParallelRange(Body body, int from, int to, int grain) {
+		this.body = body;
+		this.from = from;
+		this.to = to;
+		this.grain = grain;
+	}
+
+	//Run body over from .. to-1 in pool and wait for all pieces.
+	static void run(ForkJoinPool pool, int from, int to, Body body) {
+		run(pool, from, to, GRAIN, body);
+	}
+
+	//Same as above for bodies whose indices are expensive on their own, e.g. chunks, pieces have at most grain indices.
+	static void run(ForkJoinPool pool, int from, int to, int grain, Body body) {
+		if(to - from <= grain || pool.getParallelism() == 1)
+			body.run(from, to);
+		else
+			pool.invoke(new ParallelRange(body, from, to, grain));
+	}
+
+	@Override
+	protected void compute() {
+		if(to - from <= grain) {
+			body.run(from, to);
+		} else {
+			int middle = (from + to) >>> 1;
+			invokeAll(new ParallelRange(body, from, middle, grain), new ParallelRange(body, middle, to, grain));
+		}
+	}
+}
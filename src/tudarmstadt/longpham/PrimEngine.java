@@ -0,0 +1,91 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import java.util.Arrays;
+
+//Prim's algorithm on a CsrGraph, running at full speed in one call.
+//The priority queue is given as a QueueKind, or picked from the graph by QueueKind.choose when none is given.
+//Without a QueueKind, graphs which are close to complete go to the queue-less DensePrimEngine instead.
+public class PrimEngine implements MSTEngine {
+	private final QueueKind queueKind;
+
+	public PrimEngine() {
+		this(null);
+	}
+
+	public PrimEngine(QueueKind queueKind) {
+		this.queueKind = queueKind;
+	}
+
+	@Override
+	public MSTResult findMST(CsrGraph graph, int source) {
+		int n = graph.vertexCount();
+		if(source < 0 || source >= n)
+			throw new IllegalArgumentException("source vertex " + source + " is not in the graph");
+		if(queueKind == null && DensePrimEngine.isDense(graph))
+			return new DensePrimEngine().findMST(graph, source);
+
+		int[] offsets = graph.offsets();
+		int[] targets = graph.targets();
+		int[] weights = graph.weights();
+
+		int[] parent = new int[n];
+		int[] key = new int[n];
+		boolean[] inTree = new boolean[n];
+		Arrays.fill(parent, MSTResult.NO_PARENT);
+		Arrays.fill(key, Integer.MAX_VALUE);
+		key[source] = 0;
+
+		//Vertices enter the queue when they are reached for the first time, later improvements are decrease-key operations.
+		//The source never enters it, so the queue only holds edge weights.
+		IntPriorityQueue queue = createQueue(graph);
+		long relaxations = 0;
+		int u = source;
+		while(true) {
+			inTree[u] = true;
+
+			//Update the keys and parents of the neighbours which aren't in the tree yet.
+			for(int a = offsets[u]; a < offsets[u + 1]; a++) {
+				int v = targets[a];
+				if(!inTree[v] && weights[a] < key[v]) {
+					key[v] = weights[a];
+					parent[v] = u;
+					relaxations++;
+					if(queue.contains(v))
+						queue.decreaseKey(v, weights[a]);
+					else
+						queue.insert(v, weights[a]);
+				}
+			}
+			if(queue.isEmpty())
+				break;
+			u = queue.extractMin();
+		}
+		if(MSTStats.ENABLED)
+			MSTStats.RELAXATIONS.add(relaxations);
+		return new MSTResult(source, parent, key);
+	}
+
+	private IntPriorityQueue createQueue(CsrGraph graph) {
+		QueueKind kind = queueKind != null ? queueKind : QueueKind.choose(graph);
+		int minKey = 0;
+		int maxKey = 0;
+		int[] weights = graph.weights();
+		if(kind == QueueKind.BUCKET && weights.length > 0) {
+			//Keys are edge weights, the range QueueKind.choose measured.
+			minKey = Integer.MAX_VALUE;
+			maxKey = Integer.MIN_VALUE;
+			for(int w : weights) {
+				minKey = Math.min(minKey, w);
+				maxKey = Math.max(maxKey, w);
+			}
+		}
+		return kind.create(graph.vertexCount(), minKey, maxKey);
+	}
+}
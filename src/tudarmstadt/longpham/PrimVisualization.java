@@ -19,6 +19,8 @@ import javax.swing.JScrollPane;
 //https://sites.google.com/site/drjohnbmatthews/graphpanel
 public class PrimVisualization {
 	public static void main(String[] args){
+		//Only does something with -Dmst.stats=true.
+		MSTStats.register();
 		EventQueue.invokeLater(new Runnable() {
 
 			@Override
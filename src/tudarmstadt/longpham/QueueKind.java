@@ -0,0 +1,65 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+//The priority queues PrimEngine can run on.
+public enum QueueKind {
+	BINARY {
+		@Override
+		public IntPriorityQueue create(int capacity, int minKey, int maxKey) {
+			return new IndexedMinHeap(capacity);
+		}
+	},
+	QUATERNARY {
+		@Override
+		public IntPriorityQueue create(int capacity, int minKey, int maxKey) {
+			return new DaryHeap(capacity, 4);
+		}
+	},
+	PAIRING {
+		@Override
+		public IntPriorityQueue create(int capacity, int minKey, int maxKey) {
+			return new PairingHeap(capacity);
+		}
+	},
+	BUCKET {
+		@Override
+		public IntPriorityQueue create(int capacity, int minKey, int maxKey) {
+			return new BucketQueue(capacity, minKey, maxKey);
+		}
+	};
+
+	//Largest weight range (maxWeight - minWeight) for which a bucket queue is picked automatically.
+	//Beyond it the buckets cost more memory and scanning than the comparisons of a heap.
+	static final int MAX_BUCKET_RANGE = 1 << 12;
+	//Average degree from which the 4-ary heap is picked, on denser graphs decrease-key dominates.
+	static final int QUATERNARY_MIN_DEGREE = 8;
+
+	//Create a queue for the items 0 .. capacity-1 whose keys lie within minKey .. maxKey.
+	public abstract IntPriorityQueue create(int capacity, int minKey, int maxKey);
+
+	//Pick a queue from the weight range and the density of the graph.
+	public static QueueKind choose(CsrGraph graph) {
+		int[] weights = graph.weights();
+		if(weights.length == 0)
+			return BINARY;
+		int min = Integer.MAX_VALUE;
+		int max = Integer.MIN_VALUE;
+		for(int w : weights) {
+			if(w < min)
+				min = w;
+			if(w > max)
+				max = w;
+		}
+		if((long) max - min <= MAX_BUCKET_RANGE)
+			return BUCKET;
+		if(graph.arcCount() >= (long) QUATERNARY_MIN_DEGREE * graph.vertexCount())
+			return QUATERNARY;
+		return BINARY;
+	}
+}
@@ -0,0 +1,188 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+//Uniform grid of square cells over the plane, for finding the points near a position without looking at all of them.
+//Points are identified by their non-negative IDs (the vertex IDs), every cell keeps the IDs of its points.
+//The cells live in a LongIntHashMap by their packed coordinates, so the plane has no bounds and empty cells cost nothing:
+//a cell is dropped when its last point leaves, the last cell of the list taking its position.
+//Adding, moving and removing a point is O(1) plus the size of a cell: a point is swapped out of its old cell
+//with the last point of that cell.
+final class SpatialGrid {
+	private static final int ABSENT = -1;
+
+	private final int cellSize;
+	//Packed cell coordinates -> position in cells.
+	private final LongIntHashMap cellIndex = new LongIntHashMap(ABSENT);
+	private final List<IntArrayList> cells = new ArrayList<IntArrayList>();
+	//Packed coordinates of every cell in cells.
+	private long[] cellKeys = new long[16];
+
+	//Per ID: coordinates, cell (ABSENT if the ID isn't in the grid) and slot within the cell.
+	private int[] xs = new int[16];
+	private int[] ys = new int[16];
+	private int[] cellOf = new int[16];
+	private int[] slotOf = new int[16];
+	private int size;
+
+	SpatialGrid(int cellSize) {
+		if(cellSize < 1)
+			throw new IllegalArgumentException("cell size must be positive");
+		this.cellSize = cellSize;
+		Arrays.fill(cellOf, ABSENT);
+	}
+
+	int size() {
+		return size;
+	}
+
+	//Number of cells with at least one point.
+	int cellCount() {
+		return cells.size();
+	}
+
+	boolean contains(int id) {
+		return id >= 0 && id < cellOf.length && cellOf[id] != ABSENT;
+	}
+
+	void add(int id, int x, int y) {
+		if(contains(id))
+			throw new IllegalArgumentException("point " + id + " is already in the grid");
+		ensureCapacity(id);
+		xs[id] = x;
+		ys[id] = y;
+		insert(id);
+		size++;
+	}
+
+	void move(int id, int x, int y) {
+		if(!contains(id))
+			throw new IllegalArgumentException("point " + id + " is not in the grid");
+		xs[id] = x;
+		ys[id] = y;
+		int cell = cell(x, y, false);
+		if(cell != cellOf[id]) {
+			detach(id);
+			insert(id);
+		}
+	}
+
+	void remove(int id) {
+		if(contains(id)) {
+			detach(id);
+			cellOf[id] = ABSENT;
+			size--;
+		}
+	}
+
+	void clear() {
+		cellIndex.clear();
+		cells.clear();
+		Arrays.fill(cellOf, ABSENT);
+		size = 0;
+	}
+
+	//Append to result the IDs of all points with minX <= x <= maxX and minY <= y <= maxY.
+	void query(int minX, int minY, int maxX, int maxY, IntArrayList result) {
+		int fromX = Math.floorDiv(minX, cellSize);
+		int toX = Math.floorDiv(maxX, cellSize);
+		int fromY = Math.floorDiv(minY, cellSize);
+		int toY = Math.floorDiv(maxY, cellSize);
+		//A huge rectangle, e.g. the whole panel zoomed out, is cheaper to answer by going through the occupied cells.
+		if((long) (toX - fromX + 1) * (toY - fromY + 1) > cells.size()) {
+			for(IntArrayList cell: cells)
+				collect(cell, minX, minY, maxX, maxY, result);
+			return;
+		}
+		for(int cx = fromX; cx <= toX; cx++)
+			for(int cy = fromY; cy <= toY; cy++) {
+				int cell = cellIndex.get(key(cx, cy));
+				if(cell != ABSENT)
+					collect(cells.get(cell), minX, minY, maxX, maxY, result);
+			}
+	}
+
+	private void collect(IntArrayList cell, int minX, int minY, int maxX, int maxY, IntArrayList result) {
+		for(int i = 0; i < cell.size(); i++) {
+			int id = cell.get(i);
+			if(xs[id] >= minX && xs[id] <= maxX && ys[id] >= minY && ys[id] <= maxY)
+				result.add(id);
+		}
+	}
+
+	//Put id into the cell of its coordinates.
+	private void insert(int id) {
+		int cell = cell(xs[id], ys[id], true);
+		IntArrayList ids = cells.get(cell);
+		cellOf[id] = cell;
+		slotOf[id] = ids.size();
+		ids.add(id);
+	}
+
+	//Take id out of its cell, the last ID of the cell fills the gap.
+	private void detach(int id) {
+		IntArrayList ids = cells.get(cellOf[id]);
+		int last = ids.removeLast();
+		if(last != id) {
+			ids.set(slotOf[id], last);
+			slotOf[last] = slotOf[id];
+		}
+		if(ids.size() == 0)
+			dropCell(cellOf[id]);
+	}
+
+	//Remove an empty cell, the last cell moves to its position.
+	private void dropCell(int cell) {
+		int last = cells.size() - 1;
+		cellIndex.remove(cellKeys[cell]);
+		if(cell != last) {
+			IntArrayList ids = cells.get(last);
+			cells.set(cell, ids);
+			cellKeys[cell] = cellKeys[last];
+			cellIndex.put(cellKeys[cell], cell);
+			for(int i = 0; i < ids.size(); i++)
+				cellOf[ids.get(i)] = cell;
+		}
+		cells.remove(last);
+	}
+
+	//Position of the cell containing (x, y) in cells, the cell is created if asked for.
+	private int cell(int x, int y, boolean create) {
+		long key = key(Math.floorDiv(x, cellSize), Math.floorDiv(y, cellSize));
+		int cell = cellIndex.get(key);
+		if(cell == ABSENT && create) {
+			cell = cells.size();
+			cells.add(new IntArrayList(4));
+			if(cell == cellKeys.length)
+				cellKeys = Arrays.copyOf(cellKeys, 2 * cell);
+			cellKeys[cell] = key;
+			cellIndex.put(key, cell);
+		}
+		return cell;
+	}
+
+	private static long key(int cx, int cy) {
+		return ((long) cx << 32) | (cy & 0xffffffffL);
+	}
+
+	private void ensureCapacity(int id) {
+		if(id >= cellOf.length) {
+			int oldLength = cellOf.length;
+			int length = Math.max(id + 1, 2 * oldLength);
+			xs = Arrays.copyOf(xs, length);
+			ys = Arrays.copyOf(ys, length);
+			slotOf = Arrays.copyOf(slotOf, length);
+			cellOf = Arrays.copyOf(cellOf, length);
+			Arrays.fill(cellOf, oldLength, length, ABSENT);
+		}
+	}
+}
@@ -0,0 +1,218 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import java.util.Arrays;
+
+//Recorded run of an MST algorithm for the animation: the algorithm runs once at full speed,
+//and every step of the animation becomes a list of color changes of vertices and edges.
+//An event is two ints in one array: the element (vertex position v, or ~e for the edge at position e)
+//and its colors (from << 8 | to). Because every event knows the color it replaces, a step can be undone
+//as cheaply as it is applied, so seeking from step i to step k costs the events in between and nothing is recomputed.
+final class StepTrace {
+	//Colors of the elements, DEFAULT is the look of the cached layers (BLACK vertices, DARK_GRAY edges).
+	static final int DEFAULT = 0;
+	static final int BLACK = 1;
+	static final int GREEN = 2;
+	static final int BLUE = 3;
+	static final int RED = 4;
+
+	private final int[] events;
+	//Step s consists of the events stepStart[s] .. stepStart[s + 1] - 1.
+	private final int[] stepStart;
+	//The tree the recorded run ends up with, null for the runs which don't build one themselves.
+	private final MSTResult result;
+
+	private StepTrace(int[] events, int[] stepStart, MSTResult result) {
+		this.events = events;
+		this.stepStart = stepStart;
+		this.result = result;
+	}
+
+	MSTResult result() {
+		return result;
+	}
+
+	int stepCount() {
+		return stepStart.length - 1;
+	}
+
+	int firstEvent(int step) {
+		return stepStart[step];
+	}
+
+	//One past the last event of step.
+	int endEvent(int step) {
+		return stepStart[step + 1];
+	}
+
+	//Vertex position, or ~edge position if the event recolors an edge.
+	int element(int event) {
+		return events[2 * event];
+	}
+
+	int from(int event) {
+		return events[2 * event + 1] >>> 8;
+	}
+
+	int to(int event) {
+		return events[2 * event + 1] & 0xFF;
+	}
+
+	//Prim's algorithm from source as the panel animates it. Every step extracts the vertex with the minimum key (GREEN,
+	//with the edge to its parent), moves its edges out of (BLACK) or into (BLUE) the cut and marks the next
+	//vertex to be extracted and its edge RED. The start vertex is GREEN before the first step, a last step without
+	//changes ends the run.
+	//The result is the tree of source as this run builds it, so the tree which is kept is the GREEN one on the screen
+	//even where equal weights allow more than one MST.
+	static StepTrace prim(CsrGraph graph, int source) {
+		int n = graph.vertexCount();
+		int[] offsets = graph.offsets();
+		int[] targets = graph.targets();
+		int[] weights = graph.weights();
+		Recorder trace = new Recorder(n, graph.arcCount() / 2);
+		trace.vertexColor[source] = GREEN;
+
+		//Vertices enter the queue when they are reached for the first time, like in PrimEngine,
+		//so the operations MSTStats counts are those of the algorithm and not of n infinite keys.
+		IndexedMinHeap queue = new IndexedMinHeap(n);
+		queue.insert(source, 0);
+		boolean[] extracted = new boolean[n];
+		//All vertices below nextRoot have been extracted.
+		int nextRoot = 0;
+		//Position of the edge connecting each vertex with its parent, -1 for none.
+		int[] parentEdge = new int[n];
+		Arrays.fill(parentEdge, -1);
+		int[] parent = new int[n];
+		int[] key = new int[n];
+		Arrays.fill(parent, MSTResult.NO_PARENT);
+		Arrays.fill(key, Integer.MAX_VALUE);
+		key[source] = 0;
+		//Once the tree of source is complete, the other trees aren't part of the result.
+		boolean sourceTree = true;
+
+		while(!queue.isEmpty()) {
+			int u = queue.extractMin();
+			extracted[u] = true;
+			trace.vertex(u, GREEN);
+			if(parentEdge[u] != -1)
+				trace.edge(parentEdge[u], GREEN);
+			for(int a = offsets[u]; a < offsets[u + 1]; a++) {
+				int v = targets[a];
+				int edge = graph.arcEdge(a);
+				if(!extracted[v]) {
+					trace.edge(edge, BLUE);
+					trace.vertex(v, BLUE);
+					boolean queued = queue.contains(v);
+					if(weights[a] < (queued ? queue.key(v) : Integer.MAX_VALUE)) {
+						if(MSTStats.ENABLED)
+							MSTStats.RELAXATIONS.increment();
+						parentEdge[v] = edge;
+						if(sourceTree) {
+							parent[v] = u;
+							key[v] = weights[a];
+						}
+						if(queued)
+							queue.decreaseKey(v, weights[a]);
+						else
+							queue.insert(v, weights[a]);
+					}
+				} else if(edge != parentEdge[u]) {
+					trace.edge(edge, BLACK);
+				}
+			}
+			if(queue.isEmpty()) {
+				//The tree of source is complete. The animation goes on with a vertex which wasn't reached,
+				//as if every vertex had been in the queue from the start with an infinite key.
+				while(nextRoot < n && extracted[nextRoot])
+					nextRoot++;
+				if(nextRoot < n) {
+					queue.insert(nextRoot, Integer.MAX_VALUE);
+					sourceTree = false;
+				}
+			}
+			if(!queue.isEmpty()) {
+				int next = queue.peek();
+				trace.vertex(next, RED);
+				if(parentEdge[next] != -1)
+					trace.edge(parentEdge[next], RED);
+			}
+			trace.endStep();
+		}
+		trace.endStep();
+		return trace.build(new MSTResult(source, parent, key));
+	}
+
+	//Kruskal's decisions (see KruskalEngine.decisions) as the panel animates them: an accepted edge turns GREEN
+	//with its vertices, a rejected edge is RED until the next step. All elements start in their default color,
+	//the last step takes back the last rejected edge.
+	static StepTrace kruskal(int vertexCount, EdgeList edges, int[] decisions) {
+		Recorder trace = new Recorder(vertexCount, edges.size());
+		int rejected = -1;
+		for(int decision: decisions) {
+			if(rejected != -1) {
+				trace.edge(rejected, DEFAULT);
+				rejected = -1;
+			}
+			if(decision >= 0) {
+				trace.edge(decision, GREEN);
+				trace.vertex(edges.sources[decision], GREEN);
+				trace.vertex(edges.targets[decision], GREEN);
+			} else {
+				rejected = ~decision;
+				trace.edge(rejected, RED);
+			}
+			trace.endStep();
+		}
+		if(rejected != -1)
+			trace.edge(rejected, DEFAULT);
+		trace.endStep();
+		return trace.build(null);
+	}
+
+	//Follows the colors while the algorithm runs and only records actual changes.
+	private static final class Recorder {
+		final byte[] vertexColor;
+		final byte[] edgeColor;
+		final IntArrayList events = new IntArrayList();
+		final IntArrayList stepStart = new IntArrayList();
+
+		Recorder(int vertexCount, int edgeCount) {
+			vertexColor = new byte[vertexCount];
+			edgeColor = new byte[edgeCount];
+			stepStart.add(0);
+		}
+
+		void vertex(int v, int color) {
+			if(vertexColor[v] != color) {
+				record(v, vertexColor[v], color);
+				vertexColor[v] = (byte) color;
+			}
+		}
+
+		void edge(int e, int color) {
+			if(edgeColor[e] != color) {
+				record(~e, edgeColor[e], color);
+				edgeColor[e] = (byte) color;
+			}
+		}
+
+		private void record(int element, int from, int to) {
+			events.add(element);
+			events.add(from << 8 | to);
+		}
+
+		void endStep() {
+			stepStart.add(events.size() / 2);
+		}
+
+		StepTrace build(MSTResult result) {
+			return new StepTrace(events.toArray(), stepStart.toArray(), result);
+		}
+	}
+}
@@ -0,0 +1,48 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+//Union-find for the elements 0 .. n-1 with union by size and path halving,
+//so that both operations take nearly constant amortized time.
+final class UnionFind {
+	private final int[] parent;
+	private final int[] size;
+
+	UnionFind(int n) {
+		parent = new int[n];
+		size = new int[n];
+		for(int i = 0; i < n; i++) {
+			parent[i] = i;
+			size[i] = 1;
+		}
+	}
+
+	int find(int x) {
+		while(parent[x] != x) {
+			parent[x] = parent[parent[x]];
+			x = parent[x];
+		}
+		return x;
+	}
+
+	//Merge the sets of a and b, return false if they were the same set already.
+	boolean union(int a, int b) {
+		int ra = find(a);
+		int rb = find(b);
+		if(ra == rb)
+			return false;
+		if(size[ra] < size[rb]) {
+			int temp = ra;
+			ra = rb;
+			rb = temp;
+		}
+		parent[rb] = ra;
+		size[ra] += size[rb];
+		return true;
+	}
+}
@@ -0,0 +1,37 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import org.junit.jupiter.api.Test;
+
+//BoruvkaEngine against PrimEngine on seeded graphs, with one worker and with several.
+class BoruvkaEngineTest {
+
+	@Test
+	void sameForestAsPrim() {
+		for(CsrGraph graph: PrimEngineTest.randomGraphs()) {
+			long[] expected = PrimEngineTest.forest(new PrimEngine(QueueKind.BINARY), graph);
+			for(int parallelism: new int[] {1, 2, 4, 7})
+				assertArrayEquals(expected, PrimEngineTest.forest(new BoruvkaEngine(parallelism), graph), "parallelism " + parallelism);
+		}
+	}
+
+	//Only equal weights, so every tie is broken by the edge index, and a graph large enough to be split among the workers.
+	//The graph is connected, a forest of many trees would take one run of the engine per tree.
+	@Test
+	void equalWeightsOnALargeGraph() {
+		for(long seed = 0; seed < 3; seed++) {
+			CsrGraph graph = new GraphGenerator(GraphModel.SPANNING_TREE, 100000, 200000 + 100000 * seed, seed, 5, 5).generate();
+			long[] expected = PrimEngineTest.forest(new PrimEngine(QueueKind.BINARY), graph);
+			for(int parallelism: new int[] {1, 3, 8})
+				assertArrayEquals(expected, PrimEngineTest.forest(new BoruvkaEngine(parallelism), graph), "parallelism " + parallelism);
+		}
+	}
+}
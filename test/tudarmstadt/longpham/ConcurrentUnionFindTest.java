@@ -0,0 +1,64 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+//Many threads merging random pairs at once have to end with the sets of a sequential UnionFind,
+//and exactly one union per merge may report success.
+class ConcurrentUnionFindTest {
+
+	@Test
+	void concurrentUnionsMatchSequentialOnes() throws InterruptedException {
+		int n = 20000;
+		int threads = 8;
+		for(long seed = 0; seed < 5; seed++) {
+			int[][] pairs = new int[threads][];
+			SplittableRandom random = new SplittableRandom(seed);
+			UnionFind expected = new UnionFind(n);
+			int merges = 0;
+			for(int t = 0; t < threads; t++) {
+				//Few distinct pairs per element, so that the threads often merge the same sets at the same time.
+				pairs[t] = new int[2 * n];
+				for(int i = 0; i < pairs[t].length; i += 2) {
+					pairs[t][i] = random.nextInt(n);
+					pairs[t][i + 1] = random.nextInt(n);
+					if(expected.union(pairs[t][i], pairs[t][i + 1]))
+						merges++;
+				}
+			}
+
+			ConcurrentUnionFind components = new ConcurrentUnionFind(n);
+			AtomicInteger successes = new AtomicInteger();
+			Thread[] workers = new Thread[threads];
+			for(int t = 0; t < threads; t++) {
+				int[] own = pairs[t];
+				workers[t] = new Thread(() -> {
+					for(int i = 0; i < own.length; i += 2)
+						if(components.union(own[i], own[i + 1]))
+							successes.incrementAndGet();
+				});
+				workers[t].start();
+			}
+			for(Thread worker: workers)
+				worker.join();
+
+			assertEquals(merges, successes.get(), "successful unions");
+			for(int x = 0; x < n; x++) {
+				int y = (x * 7919) % n;
+				assertEquals(expected.find(x) == expected.find(y), components.find(x) == components.find(y), x + " and " + y);
+				assertEquals(expected.find(x) == expected.find(0), components.find(x) == components.find(0), x + " and 0");
+			}
+		}
+	}
+}
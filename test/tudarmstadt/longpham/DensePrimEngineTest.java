@@ -0,0 +1,91 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+//DensePrimEngine, and PrimEngine which hands dense graphs to it, against PrimEngine on a binary heap.
+class DensePrimEngineTest {
+
+	@Test
+	void sameForestAsPrim() {
+		for(CsrGraph graph: denseGraphs()) {
+			assertTrue(DensePrimEngine.isDense(graph));
+			long[] expected = PrimEngineTest.forest(new PrimEngine(QueueKind.BINARY), graph);
+			assertArrayEquals(expected, PrimEngineTest.forest(new DensePrimEngine(), graph));
+			assertArrayEquals(expected, PrimEngineTest.forest(new PrimEngine(), graph));
+		}
+	}
+
+	//With distinct weights the tree is unique, so both engines root it the same way.
+	@Test
+	void sameTreeWithDistinctWeights() {
+		int n = 60;
+		int m = n * (n - 1) / 2;
+		int[] sources = new int[m];
+		int[] targets = new int[m];
+		int[] weights = new int[m];
+		int i = 0;
+		for(int u = 0; u < n; u++)
+			for(int v = u + 1; v < n; v++) {
+				sources[i] = u;
+				targets[i] = v;
+				//Distinct because 7919 and m are coprime.
+				weights[i] = (int) ((long) i * 7919 % m) - m / 2;
+				i++;
+			}
+		CsrGraph graph = CsrGraph.fromEdges(n, sources, targets, weights);
+		for(int source: new int[] {0, 17, n - 1}) {
+			MSTResult expected = new PrimEngine(QueueKind.BINARY).findMST(graph, source);
+			MSTResult actual = new DensePrimEngine().findMST(graph, source);
+			assertArrayEquals(expected.parent(), actual.parent());
+			assertEquals(expected.totalWeight(), actual.totalWeight());
+		}
+	}
+
+	//Vertices without edges stay outside the tree.
+	@Test
+	void unreachableVertices() {
+		CsrGraph complete = new GraphGenerator(GraphModel.GNM, 40, 40 * 39 / 2, 3).generate();
+		EdgeList edges = EdgeList.fromCsr(complete);
+		CsrGraph graph = new EdgeList(43, edges.sources, edges.targets, edges.weights).toCsr();
+		assertTrue(DensePrimEngine.isDense(graph));
+		MSTResult result = new DensePrimEngine().findMST(graph, 5);
+		PrimEngineTest.checkTree(graph, result);
+		assertEquals(39, result.edgeCount());
+		for(int v = 40; v < 43; v++)
+			assertFalse(result.isReached(v), "vertex " + v);
+		MSTResult alone = new DensePrimEngine().findMST(graph, 41);
+		assertEquals(0, alone.edgeCount());
+		assertTrue(alone.isReached(41));
+		assertArrayEquals(PrimEngineTest.forest(new PrimEngine(QueueKind.BINARY), graph), PrimEngineTest.forest(new DensePrimEngine(), graph));
+	}
+
+	//Complete and near-complete seeded graphs, with many equal weights, with only equal weights and with negative weights.
+	private static List<CsrGraph> denseGraphs() {
+		List<CsrGraph> graphs = new ArrayList<>();
+		for(long seed = 0; seed < 3; seed++)
+			for(int n: new int[] {2, 3, 17, 150}) {
+				long pairs = (long) n * (n - 1) / 2;
+				graphs.add(new GraphGenerator(GraphModel.GNM, n, pairs, seed, 1, 3).generate());
+				graphs.add(new GraphGenerator(GraphModel.GNM, n, pairs, seed, 7, 7).generate());
+				graphs.add(new GraphGenerator(GraphModel.GNM, n, pairs, seed, -1000000, 1000000).generate());
+				graphs.add(new GraphGenerator(GraphModel.GNM, n, (pairs * 3 + 3) / 4, seed, 1, 20).generate());
+				graphs.add(new GraphGenerator(GraphModel.GNP, n, (pairs * 9 + 9) / 10, seed, 1, 20).generate());
+			}
+		return graphs;
+	}
+}
@@ -0,0 +1,246 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+//DynamicMST against Kruskal's algorithm run from scratch on the same graph after every random edit.
+//With distinct weights the minimum spanning forest is unique and the tree edges have to be the same,
+//with ties only the total weight and the number of tree edges.
+class DynamicMSTTest {
+
+	@Test
+	void distinctWeightsKeepTheMinimumSpanningForest() {
+		for(int seed = 0; seed < 20; seed++)
+			new RandomEdits(new Random(seed), true).run(2000);
+	}
+
+	@Test
+	void equalWeightsKeepAMinimumSpanningForest() {
+		for(int seed = 0; seed < 20; seed++)
+			new RandomEdits(new Random(seed), false).run(2000);
+	}
+
+	//The hub of a wheel carries every tree edge, without it the rim is joined by all of its edges but the heaviest.
+	@Test
+	void removingTheHubJoinsTheRim() {
+		int rim = 50;
+		DynamicMST mst = new DynamicMST((vertexID1, vertexID2, inTree) -> {
+		});
+		mst.addVertex(1000);
+		long rimWeight = 0;
+		for(int i = 0; i < rim; i++) {
+			mst.addVertex(i);
+			mst.addEdge(1000, i, -1);
+		}
+		for(int i = 0; i < rim; i++) {
+			//Distinct weights, the edge from 0 to 1 is the heaviest.
+			int w = i == 0 ? 1000 : 2 * i;
+			mst.addEdge(i, (i + 1) % rim, w);
+			rimWeight += w;
+		}
+		assertEquals(rim, mst.treeDegree(1000));
+		mst.removeVertex(1000);
+		assertEquals(rim - 1, mst.treeEdgeCount());
+		assertEquals(rimWeight - 1000, mst.totalWeight());
+		for(int i = 0; i < rim; i++)
+			assertEquals(i != 0, mst.isTreeEdge(i, (i + 1) % rim), "rim edge " + i);
+	}
+
+	//A graph of up to about 40 vertices which is edited at random, both in a DynamicMST and in maps of its own.
+	private static final class RandomEdits {
+		private final Random random;
+		private final boolean distinct;
+		private final List<Integer> vertices = new ArrayList<>();
+		private final Map<Long, Integer> edges = new HashMap<>();
+		private final List<Long> edgeKeys = new ArrayList<>();
+		private final Set<Integer> usedWeights = new HashSet<>();
+		//Tree edges as reported to the listener.
+		private final Set<Long> reported = new HashSet<>();
+		private final DynamicMST mst;
+		private int nextID = 1;
+
+		RandomEdits(Random random, boolean distinct) {
+			this.random = random;
+			this.distinct = distinct;
+			int n = 5 + random.nextInt(20);
+			int[] ids = new int[n];
+			for(int i = 0; i < n; i++) {
+				ids[i] = nextID++;
+				vertices.add(ids[i]);
+			}
+			List<int[]> initial = new ArrayList<>();
+			for(int i = 0; i < 2 * n; i++) {
+				int u = random.nextInt(n);
+				int v = random.nextInt(n);
+				if(u != v && !edges.containsKey(key(ids[u], ids[v]))) {
+					int w = newWeight();
+					putEdge(ids[u], ids[v], w);
+					initial.add(new int[] {u, v, w});
+				}
+			}
+			int[] sources = new int[initial.size()];
+			int[] targets = new int[initial.size()];
+			int[] weights = new int[initial.size()];
+			for(int i = 0; i < initial.size(); i++) {
+				sources[i] = initial.get(i)[0];
+				targets[i] = initial.get(i)[1];
+				weights[i] = initial.get(i)[2];
+			}
+			mst = DynamicMST.build(ids, new EdgeList(n, sources, targets, weights), (vertexID1, vertexID2, inTree) -> {
+				long key = key(vertexID1, vertexID2);
+				assertTrue(inTree ? reported.add(key) : reported.remove(key), "listener told twice about " + vertexID1 + " - " + vertexID2);
+			});
+			check("build");
+		}
+
+		void run(int operations) {
+			for(int i = 0; i < operations; i++) {
+				String operation;
+				int choice = random.nextInt(10);
+				if(choice == 0 && vertices.size() < 40) {
+					int id = nextID++;
+					vertices.add(id);
+					mst.addVertex(id);
+					operation = "addVertex " + id;
+				} else if(choice == 1 && vertices.size() > 2) {
+					int id = vertices.remove(random.nextInt(vertices.size()));
+					for(long key: new ArrayList<>(edgeKeys))
+						if((int) (key >>> 32) == id || (int) key == id)
+							removeEdgeFromMaps(key);
+					mst.removeVertex(id);
+					operation = "removeVertex " + id;
+				} else if(choice <= 5) {
+					int u = vertices.get(random.nextInt(vertices.size()));
+					int v = vertices.get(random.nextInt(vertices.size()));
+					if(u == v)
+						continue;
+					int w = newWeight();
+					Integer old = edges.get(key(u, v));
+					if(old == null)
+						putEdge(u, v, w);
+					else
+						changeWeight(key(u, v), old, w);
+					mst.addEdge(u, v, w);
+					operation = "addEdge " + u + " - " + v + " : " + w;
+				} else if(edgeKeys.isEmpty()) {
+					continue;
+				} else if(choice <= 7) {
+					long key = edgeKeys.get(random.nextInt(edgeKeys.size()));
+					removeEdgeFromMaps(key);
+					mst.removeEdge((int) (key >>> 32), (int) key);
+					operation = "removeEdge " + (key >>> 32) + " - " + (int) key;
+				} else {
+					long key = edgeKeys.get(random.nextInt(edgeKeys.size()));
+					int w = newWeight();
+					changeWeight(key, edges.get(key), w);
+					mst.setWeight((int) (key >>> 32), (int) key, w);
+					operation = "setWeight " + (key >>> 32) + " - " + (int) key + " : " + w;
+				}
+				check(operation);
+			}
+		}
+
+		//Kruskal's algorithm on the maps, then the same forest (or one as light) has to be in the DynamicMST.
+		private void check(String operation) {
+			List<Long> sorted = new ArrayList<>(edgeKeys);
+			sorted.sort((a, b) -> Integer.compare(edges.get(a), edges.get(b)));
+			Map<Integer, Integer> parent = new HashMap<>();
+			Set<Long> expected = new HashSet<>();
+			long expectedWeight = 0;
+			for(long key: sorted) {
+				int root1 = find(parent, (int) (key >>> 32));
+				int root2 = find(parent, (int) key);
+				if(root1 != root2) {
+					parent.put(root1, root2);
+					expected.add(key);
+					expectedWeight += edges.get(key);
+				}
+			}
+
+			assertEquals(expectedWeight, mst.totalWeight(), "total weight after " + operation);
+			assertEquals(expected.size(), mst.treeEdgeCount(), "tree edges after " + operation);
+			Set<Long> actual = new HashSet<>();
+			Map<Integer, Integer> degrees = new HashMap<>();
+			for(long key: edgeKeys)
+				if(mst.isTreeEdge((int) (key >>> 32), (int) key)) {
+					actual.add(key);
+					degrees.merge((int) (key >>> 32), 1, Integer::sum);
+					degrees.merge((int) key, 1, Integer::sum);
+				}
+			assertEquals(reported, actual, "tree edges told to the listener after " + operation);
+			for(int id: vertices)
+				assertEquals(degrees.getOrDefault(id, 0).intValue(), mst.treeDegree(id), "tree degree of " + id + " after " + operation);
+			if(distinct) {
+				assertEquals(expected, actual, "tree edges after " + operation);
+			} else {
+				//As many edges as a spanning forest and no cycle among them.
+				Map<Integer, Integer> forest = new HashMap<>();
+				for(long key: actual)
+					assertTrue(union(forest, (int) (key >>> 32), (int) key), "cycle through " + (key >>> 32) + " - " + (int) key + " after " + operation);
+			}
+		}
+
+		private int newWeight() {
+			if(!distinct)
+				return random.nextInt(5);
+			while(true) {
+				int w = random.nextInt(1000000) - 500000;
+				if(usedWeights.add(w))
+					return w;
+			}
+		}
+
+		private void putEdge(int u, int v, int w) {
+			edges.put(key(u, v), w);
+			edgeKeys.add(key(u, v));
+		}
+
+		private void changeWeight(long key, int old, int w) {
+			usedWeights.remove(old);
+			edges.put(key, w);
+		}
+
+		private void removeEdgeFromMaps(long key) {
+			usedWeights.remove(edges.remove(key));
+			edgeKeys.remove(key);
+		}
+	}
+
+	//Same key as DynamicMST: the smaller ID goes to the high half.
+	private static long key(int vertexID1, int vertexID2) {
+		return ((long) Math.min(vertexID1, vertexID2) << 32) | Math.max(vertexID1, vertexID2);
+	}
+
+	private static int find(Map<Integer, Integer> parent, int x) {
+		while(parent.containsKey(x))
+			x = parent.get(x);
+		return x;
+	}
+
+	//false if x and y were in the same set already.
+	private static boolean union(Map<Integer, Integer> parent, int x, int y) {
+		int root1 = find(parent, x);
+		int root2 = find(parent, y);
+		if(root1 == root2)
+			return false;
+		parent.put(root1, root2);
+		return true;
+	}
+}
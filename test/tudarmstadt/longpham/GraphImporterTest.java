@@ -0,0 +1,112 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+//Small files of every GraphFormat, the edges are expected in file order.
+class GraphImporterTest {
+	@TempDir
+	Path directory;
+
+	@Test
+	void edgeListWithHeader() throws IOException {
+		EdgeList edges = load(GraphFormat.EDGE_LIST,
+				"# 5 3",
+				"0 1 4",
+				"% another comment",
+				"",
+				"1\t4 -2",
+				"2 2 9",
+				"3 0");
+		assertEdges(edges, 5, new int[] {0, 1, 3}, new int[] {1, 4, 0}, new int[] {4, -2, 1});
+	}
+
+	@Test
+	void edgeListIsRenumbered() throws IOException {
+		//IDs close together are looked up in a table, IDs far apart searched.
+		assertEdges(load(GraphFormat.EDGE_LIST, "10 12 1", "12 11 2", "# comment", "13 10 3"),
+				4, new int[] {0, 2, 3}, new int[] {2, 1, 0}, new int[] {1, 2, 3});
+		assertEdges(load(GraphFormat.EDGE_LIST, "7 1000000 5", "-3 7 6\r", "1000000 2000000000"),
+				4, new int[] {1, 0, 2}, new int[] {2, 1, 3}, new int[] {5, 6, 1});
+	}
+
+	@Test
+	void dimacs() throws IOException {
+		EdgeList edges = load(GraphFormat.DIMACS,
+				"c a comment before the problem line",
+				"p sp 4 4",
+				"c and one after it",
+				"a 1 2 7",
+				"a 2 1 7",
+				"e 3 4",
+				"a 4 2 3");
+		assertEdges(edges, 4, new int[] {0, 1, 2, 3}, new int[] {1, 0, 3, 1}, new int[] {7, 7, 1, 3});
+	}
+
+	@Test
+	void metis() throws IOException {
+		//Every edge is listed by both of its vertices and kept once, vertex 4 has no neighbours.
+		assertEdges(load(GraphFormat.METIS,
+				"% a comment",
+				"4 3",
+				"2 3",
+				"1 3",
+				"% between the vertices",
+				"1 2",
+				""),
+				4, new int[] {0, 0, 1}, new int[] {1, 2, 2}, new int[] {1, 1, 1});
+		//fmt 011: a vertex weight and edge weights.
+		assertEdges(load(GraphFormat.METIS,
+				"3 2 011",
+				"5 2 8",
+				"6 1 8 3 9",
+				"7 2 9"),
+				3, new int[] {0, 1}, new int[] {1, 2}, new int[] {8, 9});
+	}
+
+	@Test
+	void malformedFilesAreRefused() throws IOException {
+		assertRefused(GraphFormat.EDGE_LIST, "# 3 1", "0 3 1");
+		assertRefused(GraphFormat.EDGE_LIST, "0 1 x");
+		assertRefused(GraphFormat.EDGE_LIST, "0 1 99999999999");
+		assertRefused(GraphFormat.DIMACS, "a 1 2 3");
+		assertRefused(GraphFormat.DIMACS, "p sp 2 1", "x 1 2 3");
+		assertRefused(GraphFormat.DIMACS, "p sp 2 1", "a 1 3 3");
+		assertRefused(GraphFormat.METIS, "% only a comment");
+		assertRefused(GraphFormat.METIS, "2 1", "2", "3");
+		assertRefused(GraphFormat.METIS, "2 1", "2", "1", "1");
+	}
+
+	private EdgeList load(GraphFormat format, String... lines) throws IOException {
+		Path file = directory.resolve("graph.txt");
+		Files.write(file, String.join("\n", lines).getBytes(StandardCharsets.US_ASCII));
+		return new GraphImporter(file, format).loadEdges();
+	}
+
+	private void assertRefused(GraphFormat format, String... lines) {
+		assertThrows(IOException.class, () -> load(format, lines), String.join(" / ", lines));
+	}
+
+	private static void assertEdges(EdgeList edges, int vertexCount, int[] sources, int[] targets, int[] weights) {
+		assertEquals(vertexCount, edges.vertexCount);
+		assertArrayEquals(sources, edges.sources);
+		assertArrayEquals(targets, edges.targets);
+		assertArrayEquals(weights, edges.weights);
+	}
+}
@@ -0,0 +1,183 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+//Snapshots written and read again, plain and deflated, and files which have to be refused.
+class GraphSnapshotTest {
+	@TempDir
+	Path directory;
+
+	@Test
+	void roundTrip() throws IOException {
+		for(boolean compress: new boolean[] {false, true}) {
+			for(int n: new int[] {0, 1, 50, 20000}) {
+				GraphSnapshot written = randomSnapshot(new Random(n), n, n % 2 == 0);
+				Path file = directory.resolve("graph-" + n + "-" + compress + ".prms");
+				written.write(file, compress);
+				GraphSnapshot read = GraphSnapshot.read(file);
+				assertArrayEquals(written.vertexIds, read.vertexIds);
+				assertArrayEquals(written.xs, read.xs);
+				assertArrayEquals(written.ys, read.ys);
+				assertArrayEquals(written.sources, read.sources);
+				assertArrayEquals(written.targets, read.targets);
+				assertArrayEquals(written.weights, read.weights);
+				assertEquals(written.start, read.start);
+				assertArrayEquals(written.parent, read.parent);
+			}
+		}
+	}
+
+	@Test
+	void snapshotWithoutTree() throws IOException {
+		GraphSnapshot written = new GraphSnapshot(new int[] {1, 2}, new int[] {10, 20}, new int[] {30, 40},
+				new int[] {0}, new int[] {1}, new int[] {7}, -1, null);
+		Path file = directory.resolve("small.prms");
+		written.write(file, true);
+		GraphSnapshot read = GraphSnapshot.read(file);
+		assertNull(read.parent);
+		assertEquals(-1, read.start);
+		assertArrayEquals(new int[] {7}, read.weights);
+	}
+
+	@Test
+	void damagedFilesAreRefused() throws IOException {
+		for(boolean compress: new boolean[] {false, true}) {
+			Path file = directory.resolve("graph.prms");
+			randomSnapshot(new Random(1), 100, true).write(file, compress);
+			byte[] bytes = Files.readAllBytes(file);
+
+			//Every byte after the header changed in turn would take too long, a sample of them does.
+			for(int i = 24; i < bytes.length; i += 37) {
+				byte[] damaged = bytes.clone();
+				damaged[i] ^= 0x5A;
+				assertRefused(damaged, "byte " + i + " changed");
+			}
+			assertRefused(Arrays.copyOf(bytes, bytes.length - 1), "last byte missing");
+			assertRefused(Arrays.copyOf(bytes, bytes.length + 1), "byte appended");
+			assertRefused(Arrays.copyOf(bytes, 10), "header cut off");
+			byte[] wrongMagic = bytes.clone();
+			wrongMagic[0] = 'X';
+			assertRefused(wrongMagic, "wrong magic");
+			//A vertex count which doesn't fit the size of the file.
+			byte[] wrongCount = bytes.clone();
+			ByteBuffer.wrap(wrongCount).putInt(8, Integer.MAX_VALUE);
+			assertRefused(wrongCount, "wrong vertex count");
+		}
+	}
+
+	//The checksum is right, but the content can't be shown by the panel.
+	@Test
+	void inconsistentContentIsRefused() throws IOException {
+		int[] positions = {0, 0, 0};
+		//Vertex IDs twice, 0 and far beyond the number of vertices.
+		assertRefused(new GraphSnapshot(new int[] {1, 1, 2}, positions, positions, new int[0], new int[0], new int[0], -1, null));
+		assertRefused(new GraphSnapshot(new int[] {0, 1, 2}, positions, positions, new int[0], new int[0], new int[0], -1, null));
+		assertRefused(new GraphSnapshot(new int[] {1, 2, Integer.MAX_VALUE}, positions, positions, new int[0], new int[0], new int[0], -1, null));
+		//An edge to a vertex which doesn't exist, a self loop and an edge twice.
+		int[] ids = {1, 2, 3};
+		assertRefused(new GraphSnapshot(ids, positions, positions, new int[] {0}, new int[] {3}, new int[] {1}, -1, null));
+		assertRefused(new GraphSnapshot(ids, positions, positions, new int[] {-1}, new int[] {0}, new int[] {1}, -1, null));
+		assertRefused(new GraphSnapshot(ids, positions, positions, new int[] {1}, new int[] {1}, new int[] {1}, -1, null));
+		assertRefused(new GraphSnapshot(ids, positions, positions, new int[] {0, 1}, new int[] {1, 0}, new int[] {1, 2}, -1, null));
+		//A parent which is no vertex or not a neighbour.
+		int[] sources = {0, 1};
+		int[] targets = {1, 2};
+		int[] weights = {1, 1};
+		int none = MSTResult.NO_PARENT;
+		assertRefused(new GraphSnapshot(ids, positions, positions, sources, targets, weights, 0, new int[] {none, 0, 7}));
+		assertRefused(new GraphSnapshot(ids, positions, positions, sources, targets, weights, 0, new int[] {none, 0, 0}));
+
+		//Parents along edges which aren't a tree rooted at the start vertex, or at the first vertex without one:
+		//a cycle, a parent of the start vertex and a second root.
+		int[] ids4 = {1, 2, 3, 4};
+		int[] positions4 = {0, 0, 0, 0};
+		int[] path = {0, 1, 2};
+		int[] next = {1, 2, 3};
+		int[] pathWeights = {1, 1, 1};
+		assertRefused(new GraphSnapshot(ids4, positions4, positions4, path, next, pathWeights, 0, new int[] {none, 2, 1, 2}));
+		assertRefused(new GraphSnapshot(ids4, positions4, positions4, path, next, pathWeights, 0, new int[] {1, none, 1, 2}));
+		assertRefused(new GraphSnapshot(ids4, positions4, positions4, path, next, pathWeights, -1, new int[] {1, none, 1, 2}));
+		assertRefused(new GraphSnapshot(ids4, positions4, positions4, path, next, pathWeights, 0, new int[] {none, 0, none, 2}));
+		//The same path as a tree rooted at 3 and at 0 is fine.
+		Path file = directory.resolve("path.prms");
+		new GraphSnapshot(ids4, positions4, positions4, path, next, pathWeights, 3, new int[] {1, 2, 3, none}).write(file, false);
+		assertArrayEquals(new int[] {1, 2, 3, none}, GraphSnapshot.read(file).parent);
+		new GraphSnapshot(ids4, positions4, positions4, path, next, pathWeights, -1, new int[] {none, 0, 1, 2}).write(file, false);
+		assertArrayEquals(new int[] {none, 0, 1, 2}, GraphSnapshot.read(file).parent);
+	}
+
+	private void assertRefused(GraphSnapshot snapshot) throws IOException {
+		Path file = directory.resolve("inconsistent.prms");
+		snapshot.write(file, false);
+		assertThrows(IOException.class, () -> GraphSnapshot.read(file));
+	}
+
+	private void assertRefused(byte[] bytes, String damage) throws IOException {
+		Path file = directory.resolve("damaged.prms");
+		Files.write(file, bytes);
+		assertThrows(IOException.class, () -> GraphSnapshot.read(file), damage);
+	}
+
+	//n vertices with shuffled IDs, a random spanning tree plus some more edges, and the tree as parent array.
+	private static GraphSnapshot randomSnapshot(Random random, int n, boolean withParent) {
+		int[] vertexIds = new int[n];
+		int[] xs = new int[n];
+		int[] ys = new int[n];
+		for(int i = 0; i < n; i++) {
+			vertexIds[i] = i + 1;
+			xs[i] = random.nextInt(2000);
+			ys[i] = random.nextInt(2000);
+		}
+		for(int i = n - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int id = vertexIds[i];
+			vertexIds[i] = vertexIds[j];
+			vertexIds[j] = id;
+		}
+		int[] parent = new int[n];
+		IntArrayList sources = new IntArrayList();
+		IntArrayList targets = new IntArrayList();
+		IntArrayList weights = new IntArrayList();
+		LongHashSet edges = new LongHashSet(2 * n);
+		for(int v = 0; v < n; v++) {
+			parent[v] = v == 0 ? MSTResult.NO_PARENT : random.nextInt(v);
+			if(v > 0)
+				addEdge(edges, sources, targets, weights, v, parent[v], random.nextInt(1000));
+		}
+		for(int i = 0; i < n; i++) {
+			int u = random.nextInt(n);
+			int v = random.nextInt(n);
+			if(u != v && !edges.contains(((long) Math.min(u, v) << 32) | Math.max(u, v)))
+				addEdge(edges, sources, targets, weights, u, v, random.nextInt(1000) - 500);
+		}
+		return new GraphSnapshot(vertexIds, xs, ys, sources.toArray(), targets.toArray(), weights.toArray(),
+				n == 0 ? -1 : 0, withParent ? parent : null);
+	}
+
+	private static void addEdge(LongHashSet edges, IntArrayList sources, IntArrayList targets, IntArrayList weights, int u, int v, int w) {
+		edges.add(((long) Math.min(u, v) << 32) | Math.max(u, v));
+		sources.add(u);
+		targets.add(v);
+		weights.add(w);
+	}
+}
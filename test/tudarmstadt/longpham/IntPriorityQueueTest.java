@@ -0,0 +1,98 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+//Every QueueKind against a scan of the keys, and the edge cases of the bucket queue.
+class IntPriorityQueueTest {
+
+	@Test
+	void randomOperationsMatchAScan() {
+		for(QueueKind kind: QueueKind.values()) {
+			Random random = new Random(kind.ordinal());
+			int capacity = 200;
+			int minKey = -50;
+			int maxKey = 50;
+			IntPriorityQueue queue = kind.create(capacity, minKey, maxKey);
+			//Key of every item in the queue, or null.
+			Integer[] keys = new Integer[capacity];
+			for(int i = 0; i < 50000; i++) {
+				int item = random.nextInt(capacity);
+				int choice = random.nextInt(3);
+				if(keys[item] == null && choice == 0) {
+					int key = minKey + random.nextInt(maxKey - minKey + 1);
+					queue.insert(item, key);
+					keys[item] = key;
+				} else if(keys[item] != null && choice == 1) {
+					int key = keys[item] - random.nextInt(keys[item] - minKey + 1);
+					queue.decreaseKey(item, key);
+					keys[item] = key;
+				} else if(choice == 2 && !queue.isEmpty()) {
+					int min = queue.peek();
+					assertEquals(min, queue.extractMin(), kind + ": extractMin after peek");
+					for(Integer key: keys)
+						assertTrue(key == null || key >= keys[min], kind + ": extracted key " + keys[min] + " is not the smallest");
+					keys[min] = null;
+				}
+				int size = 0;
+				for(int j = 0; j < capacity; j++) {
+					assertEquals(keys[j] != null, queue.contains(j));
+					if(keys[j] != null) {
+						assertEquals(keys[j].intValue(), queue.key(j));
+						size++;
+					}
+				}
+				assertEquals(size, queue.size(), kind + ": size");
+			}
+		}
+	}
+
+	@Test
+	void peekOnAnEmptyQueue() {
+		for(QueueKind kind: QueueKind.values()) {
+			IntPriorityQueue queue = kind.create(4, 1, 20);
+			assertEquals(-1, queue.peek(), kind + ": new queue");
+			assertThrows(NoSuchElementException.class, queue::extractMin, kind + ": extractMin on a new queue");
+			queue.insert(2, 5);
+			assertEquals(2, queue.extractMin());
+			assertEquals(-1, queue.peek(), kind + ": emptied queue");
+			assertThrows(NoSuchElementException.class, queue::extractMin, kind + ": extractMin on an emptied queue");
+			//The failed call leaves the queue usable.
+			assertEquals(0, queue.size(), kind + ": size");
+			queue.insert(3, 7);
+			assertEquals(3, queue.peek(), kind + ": refilled queue");
+			assertEquals(3, queue.extractMin(), kind + ": refilled queue");
+		}
+	}
+
+	@Test
+	void bucketKeysFarApart() {
+		//maxKey - minKey overflows an int.
+		assertThrows(IllegalArgumentException.class, () -> new BucketQueue(4, Integer.MIN_VALUE, Integer.MAX_VALUE));
+		BucketQueue queue = new BucketQueue(4, -10, 10);
+		assertThrows(IllegalArgumentException.class, () -> queue.insert(0, Integer.MAX_VALUE));
+		assertThrows(IllegalArgumentException.class, () -> queue.insert(0, Integer.MIN_VALUE));
+		queue.insert(0, 10);
+		queue.insert(1, -10);
+		//A refused key leaves the queue as it was.
+		assertThrows(IllegalArgumentException.class, () -> queue.decreaseKey(0, Integer.MIN_VALUE));
+		assertEquals(10, queue.key(0));
+		assertEquals(2, queue.size());
+		assertEquals(1, queue.extractMin());
+		assertEquals(0, queue.extractMin());
+		assertTrue(queue.isEmpty());
+	}
+}
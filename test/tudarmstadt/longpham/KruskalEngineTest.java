@@ -0,0 +1,103 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+//Plain and Filter-Kruskal against PrimEngine on seeded graphs, and the decisions which StepTrace.kruskal animates
+//replayed on component labels of their own.
+class KruskalEngineTest {
+
+	@Test
+	void sameForestAsPrim() {
+		for(CsrGraph graph: PrimEngineTest.randomGraphs()) {
+			long[] expected = PrimEngineTest.forest(new PrimEngine(QueueKind.BINARY), graph);
+			for(boolean filter: new boolean[] {false, true})
+				assertArrayEquals(expected, PrimEngineTest.forest(new KruskalEngine(filter), graph), "filter " + filter);
+		}
+	}
+
+	//An accepted edge joins two components and a rejected one lies within one, plain Kruskal accepts in weight order,
+	//and the accepted edges are the forest findMST returns the tree of.
+	@Test
+	void decisionsFormTheForest() {
+		for(CsrGraph graph: PrimEngineTest.randomGraphs()) {
+			EdgeList edges = EdgeList.fromCsr(graph);
+			long[] expected = PrimEngineTest.forest(new PrimEngine(QueueKind.BINARY), graph);
+			for(boolean filter: new boolean[] {false, true}) {
+				int n = edges.vertexCount;
+				int[] label = new int[n];
+				for(int v = 0; v < n; v++)
+					label[v] = v;
+				int[] accepted = new int[n];
+				int count = 0;
+				long weight = 0;
+				boolean[] decided = new boolean[edges.size()];
+				for(int decision: new KruskalEngine(filter).decisions(edges)) {
+					int e = decision >= 0 ? decision : ~decision;
+					assertTrue(!decided[e], "edge " + e + " decided twice");
+					decided[e] = true;
+					int a = label[edges.sources[e]];
+					int b = label[edges.targets[e]];
+					if(decision >= 0) {
+						assertNotEquals(a, b, "accepted edge " + e + " closes a cycle");
+						if(!filter && count > 0)
+							assertTrue(edges.weights[accepted[count - 1]] <= edges.weights[e], "accepted out of weight order");
+						for(int v = 0; v < n; v++)
+							if(label[v] == b)
+								label[v] = a;
+						accepted[count++] = e;
+						weight += edges.weights[e];
+					} else {
+						assertEquals(a, b, "rejected edge " + e + " joins two components");
+					}
+				}
+				assertEquals(expected[0], weight, "forest weight, filter " + filter);
+				assertEquals(expected[1], count, "forest edges, filter " + filter);
+
+				//Undecided edges lie within a component of the complete forest.
+				for(int e = 0; e < edges.size(); e++)
+					assertTrue(decided[e] || label[edges.sources[e]] == label[edges.targets[e]], "edge " + e + " left out");
+
+				MSTResult forest = MSTResult.fromForest(edges, 0, accepted, count);
+				MSTResult tree = new KruskalEngine(filter).findMST(graph, 0);
+				assertArrayEquals(forest.parent(), tree.parent());
+				assertArrayEquals(forest.key(), tree.key());
+			}
+		}
+	}
+
+	//Equal weights only, every edge ties with every other one.
+	@Test
+	void equalWeights() {
+		for(long seed = 0; seed < 3; seed++) {
+			CsrGraph graph = new GraphGenerator(GraphModel.GNM, 2000, 1500 + 6000 * seed, seed, 3, 3).generate();
+			long[] expected = PrimEngineTest.forest(new PrimEngine(QueueKind.BINARY), graph);
+			assertEquals(3 * expected[1], expected[0]);
+			for(boolean filter: new boolean[] {false, true})
+				assertArrayEquals(expected, PrimEngineTest.forest(new KruskalEngine(filter), graph), "filter " + filter);
+		}
+	}
+
+	@Test
+	void graphWithoutEdges() {
+		CsrGraph graph = CsrGraph.fromEdges(5, new int[0], new int[0], new int[0]);
+		for(boolean filter: new boolean[] {false, true}) {
+			assertEquals(0, new KruskalEngine(filter).decisions(EdgeList.fromCsr(graph)).length);
+			assertArrayEquals(new long[] {0, 0}, PrimEngineTest.forest(new KruskalEngine(filter), graph));
+			assertTrue(Arrays.stream(new KruskalEngine(filter).findMST(graph, 2).parent()).allMatch(p -> p == MSTResult.NO_PARENT));
+		}
+	}
+}
@@ -0,0 +1,54 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+//LongHashSet against java.util.HashSet under random operations.
+class LongHashSetTest {
+
+	@Test
+	void randomOperationsMatchHashSet() {
+		for(int keyRange: new int[] {8, 1000, 1 << 20}) {
+			Random random = new Random(keyRange);
+			LongHashSet set = new LongHashSet(0);
+			Set<Long> expected = new HashSet<>();
+			for(int i = 0; i < 200000; i++) {
+				long key = LongIntHashMapTest.randomKey(random, keyRange);
+				if(random.nextBoolean())
+					assertEquals(expected.add(key), set.add(key), "add " + key);
+				else
+					assertEquals(expected.contains(key), set.contains(key), "contains " + key);
+				assertEquals(expected.size(), set.size());
+			}
+			for(long key: expected)
+				assertTrue(set.contains(key));
+		}
+	}
+
+	@Test
+	void zeroKeyIsAnOrdinaryKey() {
+		LongHashSet set = new LongHashSet(4);
+		assertFalse(set.contains(0));
+		assertTrue(set.add(0));
+		assertFalse(set.add(0));
+		assertTrue(set.contains(0));
+		assertEquals(1, set.size());
+		set.clear();
+		assertFalse(set.contains(0));
+		assertEquals(0, set.size());
+	}
+}
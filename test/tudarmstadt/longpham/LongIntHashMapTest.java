@@ -0,0 +1,165 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+//LongIntHashMap against java.util.HashMap under random operations.
+//A small key range makes long probe runs, so removal has to shift entries back across them and around the end of the table.
+class LongIntHashMapTest {
+	private static final int MISSING = -1;
+
+	@Test
+	void randomOperationsMatchHashMap() {
+		for(int keyRange: new int[] {8, 100, 5000}) {
+			Random random = new Random(keyRange);
+			LongIntHashMap map = new LongIntHashMap(MISSING);
+			Map<Long, Integer> expected = new HashMap<>();
+			for(int i = 0; i < 200000; i++) {
+				long key = randomKey(random, keyRange);
+				int value = random.nextInt(1000);
+				switch(random.nextInt(4)) {
+				case 0:
+				case 1:
+					assertEquals(orMissing(expected.put(key, value)), map.put(key, value), "put " + key);
+					break;
+				case 2:
+					assertEquals(orMissing(expected.remove(key)), map.remove(key), "remove " + key);
+					break;
+				default:
+					assertEquals(orMissing(expected.get(key)), map.get(key), "get " + key);
+					assertEquals(expected.containsKey(key), map.containsKey(key), "containsKey " + key);
+				}
+				assertEquals(expected.size(), map.size());
+			}
+			for(Map.Entry<Long, Integer> entry: expected.entrySet())
+				assertEquals((int) entry.getValue(), map.get(entry.getKey()));
+		}
+	}
+
+	@Test
+	void zeroKeyIsAnOrdinaryKey() {
+		LongIntHashMap map = new LongIntHashMap(MISSING);
+		assertFalse(map.containsKey(0));
+		assertEquals(MISSING, map.get(0));
+		assertEquals(MISSING, map.put(0, 7));
+		assertEquals(7, map.put(0, 8));
+		assertTrue(map.containsKey(0));
+		assertEquals(1, map.size());
+		assertEquals(8, map.remove(0));
+		assertEquals(MISSING, map.remove(0));
+		assertEquals(0, map.size());
+	}
+
+	@Test
+	void growsFarBeyondTheExpectedSize() {
+		LongIntHashMap map = new LongIntHashMap(MISSING, 1);
+		for(int i = 0; i < 100000; i++)
+			map.put(pair(i, i + 1), i);
+		assertEquals(100000, map.size());
+		for(int i = 0; i < 100000; i++)
+			assertEquals(i, map.get(pair(i, i + 1)));
+		assertEquals(MISSING, map.get(pair(100000, 100001)));
+		map.clear();
+		assertEquals(0, map.size());
+		assertFalse(map.containsKey(pair(0, 1)));
+	}
+
+	//Probe runs which wrap around the end of the table are rare with random keys, so keys are picked by their home slot:
+	//three at the last slot of a new table and two at slot 0. Every one of them is removed once, in every insertion order.
+	@Test
+	void removalShiftsEntriesAroundTheEndOfTheTable() {
+		long[] keys = new long[5];
+		int found = 0;
+		for(long key = 1; found < keys.length; key++) {
+			int home = home(key, 15);
+			if((found < 3 && home == 15) || (found >= 3 && home == 0))
+				keys[found++] = key;
+		}
+		int[] order = {0, 1, 2, 3, 4};
+		do {
+			for(long removed: keys) {
+				LongIntHashMap map = new LongIntHashMap(MISSING);
+				for(int i: order)
+					map.put(keys[i], i);
+				assertEquals(indexOf(keys, removed), map.remove(removed));
+				for(int i = 0; i < keys.length; i++)
+					assertEquals(keys[i] == removed ? MISSING : i, map.get(keys[i]), "get " + keys[i] + " after removing " + removed);
+			}
+		} while(nextPermutation(order));
+	}
+
+	//Home slot of key in a table with the given mask, the same mixing as LongIntHashMap.
+	private static int home(long key, int mask) {
+		long h = key;
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return (int) h & mask;
+	}
+
+	private static int indexOf(long[] keys, long key) {
+		for(int i = 0; i < keys.length; i++)
+			if(keys[i] == key)
+				return i;
+		return -1;
+	}
+
+	//Rearrange order into the next permutation in lexicographic order, false after the last one.
+	private static boolean nextPermutation(int[] order) {
+		int i = order.length - 2;
+		while(i >= 0 && order[i] >= order[i + 1])
+			i--;
+		if(i < 0)
+			return false;
+		int j = order.length - 1;
+		while(order[j] <= order[i])
+			j--;
+		int swap = order[i];
+		order[i] = order[j];
+		order[j] = swap;
+		for(int low = i + 1, high = order.length - 1; low < high; low++, high--) {
+			swap = order[low];
+			order[low] = order[high];
+			order[high] = swap;
+		}
+		return true;
+	}
+
+	//Keys around 0 and the extremes of long, so the free key and the sign bit are hit often.
+	static long randomKey(Random random, int keyRange) {
+		long key = random.nextInt(keyRange) - keyRange / 2;
+		switch(random.nextInt(8)) {
+		case 0:
+			return Long.MIN_VALUE + key + keyRange;
+		case 1:
+			return Long.MAX_VALUE - key - keyRange;
+		default:
+			return key;
+		}
+	}
+
+	private static int orMissing(Integer value) {
+		return value == null ? MISSING : value;
+	}
+
+	//Key of a pair of vertex IDs like in the edge index of the panel.
+	private static long pair(int low, int high) {
+		return ((long) low << 32) | high;
+	}
+}
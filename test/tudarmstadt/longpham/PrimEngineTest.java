@@ -0,0 +1,153 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+//PrimEngine with every QueueKind and with the queue it picks itself, on weights near 0 and far from it.
+//The helpers are shared by the tests of the other engines, which are checked against PrimEngine.
+class PrimEngineTest {
+
+	@Test
+	void weightsFarFromZero() {
+		for(int offset: new int[] {2000000000, -2000000000, -1000}) {
+			int n = 100;
+			int[] sources = new int[n - 1];
+			int[] targets = new int[n - 1];
+			int[] weights = new int[n - 1];
+			long total = 0;
+			for(int i = 0; i < n - 1; i++) {
+				sources[i] = i;
+				targets[i] = i + 1;
+				weights[i] = offset + i;
+				total += weights[i];
+			}
+			CsrGraph path = CsrGraph.fromEdges(n, sources, targets, weights);
+			assertEquals(QueueKind.BUCKET, QueueKind.choose(path));
+			for(MSTEngine engine: primEngines()) {
+				MSTResult result = engine.findMST(path, 0);
+				checkTree(path, result);
+				assertEquals(n - 1, result.edgeCount());
+				assertEquals(total, result.totalWeight(), "offset " + offset);
+			}
+		}
+	}
+
+	//Adding the same amount to every weight keeps the tree, the forest gets heavier by that amount per edge.
+	@Test
+	void shiftedWeightsKeepTheForest() {
+		for(long seed = 0; seed < 5; seed++)
+			for(int shift: new int[] {1000000000, -1000000000, -7}) {
+				CsrGraph graph = new GraphGenerator(GraphModel.GNM, 300, 250 + 100 * seed, seed, 1, 20).generate();
+				CsrGraph shifted = new GraphGenerator(GraphModel.GNM, 300, 250 + 100 * seed, seed, 1 + shift, 20 + shift).generate();
+				long[] expected = forest(new PrimEngine(QueueKind.BINARY), graph);
+				for(MSTEngine engine: primEngines()) {
+					long[] actual = forest(engine, shifted);
+					assertEquals(expected[1], actual[1], "forest edges with shift " + shift);
+					assertEquals(expected[0] + (long) shift * expected[1], actual[0], "forest weight with shift " + shift);
+				}
+			}
+	}
+
+	@Test
+	void queueKindsAgree() {
+		for(CsrGraph graph: randomGraphs()) {
+			long[] expected = forest(new PrimEngine(QueueKind.BINARY), graph);
+			for(MSTEngine engine: primEngines())
+				assertArrayEquals(expected, forest(engine, graph));
+		}
+	}
+
+	//PrimEngine with every QueueKind and with the one it picks.
+	private static List<MSTEngine> primEngines() {
+		List<MSTEngine> engines = new ArrayList<>();
+		engines.add(new PrimEngine());
+		for(QueueKind kind: QueueKind.values())
+			engines.add(new PrimEngine(kind));
+		return engines;
+	}
+
+	//Seeded graphs: connected and disconnected, sparse and dense, with many equal weights and with few,
+	//with negative weights and on a grid.
+	static List<CsrGraph> randomGraphs() {
+		List<CsrGraph> graphs = new ArrayList<>();
+		for(long seed = 0; seed < 3; seed++) {
+			for(int[] weights: new int[][] {{1, 3}, {1, 1000000}, {-500, 500}}) {
+				graphs.add(new GraphGenerator(GraphModel.GNM, 500, 200, seed, weights[0], weights[1]).generate());
+				graphs.add(new GraphGenerator(GraphModel.GNM, 500, 600, seed, weights[0], weights[1]).generate());
+				graphs.add(new GraphGenerator(GraphModel.GNM, 300, 20000, seed, weights[0], weights[1]).generate());
+				graphs.add(new GraphGenerator(GraphModel.SPANNING_TREE, 500, 2000, seed, weights[0], weights[1]).generate());
+			}
+			graphs.add(new GraphGenerator(GraphModel.GRID, 400, 0, seed, 1, 1).generate());
+		}
+		graphs.add(new GraphGenerator(GraphModel.GNM, 1, 0, 0).generate());
+		return graphs;
+	}
+
+	//Weight and number of edges of the minimum spanning forest found by the engine, one run per component.
+	//Every tree is checked on the way and the trees have to cover every vertex exactly once.
+	static long[] forest(MSTEngine engine, CsrGraph graph) {
+		int n = graph.vertexCount();
+		boolean[] covered = new boolean[n];
+		long weight = 0;
+		long edges = 0;
+		for(int source = 0; source < n; source++) {
+			if(covered[source])
+				continue;
+			MSTResult result = engine.findMST(graph, source);
+			checkTree(graph, result);
+			for(int v = 0; v < n; v++)
+				if(result.isReached(v)) {
+					assertFalse(covered[v], "vertex " + v + " is in two trees");
+					covered[v] = true;
+				}
+			weight += result.totalWeight();
+			edges += result.edgeCount();
+		}
+		return new long[] {weight, edges};
+	}
+
+	//Every parent is a neighbour joined by an edge of the vertex's key, and every parent chain ends at the source.
+	static void checkTree(CsrGraph graph, MSTResult result) {
+		int n = graph.vertexCount();
+		int[] offsets = graph.offsets();
+		int[] targets = graph.targets();
+		int[] weights = graph.weights();
+		int[] parent = result.parent();
+		assertEquals(MSTResult.NO_PARENT, parent[result.source()], "the source has a parent");
+		//Chains are walked until a vertex known to lead to the source, so every vertex is walked over once.
+		//walked[v] is 0 before, the number of the walk while it runs and -1 when v leads to the source.
+		int[] walked = new int[n];
+		walked[result.source()] = -1;
+		for(int v = 0; v < n; v++) {
+			if(parent[v] == MSTResult.NO_PARENT)
+				continue;
+			boolean found = false;
+			for(int a = offsets[v]; a < offsets[v + 1] && !found; a++)
+				found = targets[a] == parent[v] && weights[a] == result.key()[v];
+			assertTrue(found, "no edge of weight " + result.key()[v] + " between " + v + " and its parent " + parent[v]);
+			int x = v;
+			while(walked[x] == 0 && parent[x] != MSTResult.NO_PARENT) {
+				walked[x] = v + 1;
+				x = parent[x];
+			}
+			assertTrue(walked[x] != v + 1, "the parents of " + v + " form a cycle");
+			assertEquals(-1, walked[x], "the parents of " + v + " don't lead to the source");
+			for(x = v; walked[x] == v + 1; x = parent[x])
+				walked[x] = -1;
+		}
+	}
+}
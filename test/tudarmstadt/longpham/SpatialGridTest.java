@@ -0,0 +1,90 @@
+/*
+ * @Author: Thanh Long Pham
+ * @Date: 10/06/2017
+ * @University: TU Darmstadt
+ *
+ */
+
+package tudarmstadt.longpham;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+//SpatialGrid against a scan of all points, while points are added, moved and removed at random.
+class SpatialGridTest {
+	private static final int CELL = 20;
+
+	@Test
+	void randomOperationsMatchAScan() {
+		Random random = new Random(7);
+		SpatialGrid grid = new SpatialGrid(CELL);
+		int[] xs = new int[300];
+		int[] ys = new int[300];
+		boolean[] present = new boolean[300];
+		for(int i = 0; i < 100000; i++) {
+			int id = random.nextInt(present.length);
+			int x = random.nextInt(2000) - 1000;
+			int y = random.nextInt(2000) - 1000;
+			if(!present[id]) {
+				grid.add(id, x, y);
+				present[id] = true;
+			} else if(random.nextInt(3) == 0) {
+				grid.remove(id);
+				present[id] = false;
+			} else {
+				//Mostly small steps, which often stay in the cell.
+				if(random.nextBoolean()) {
+					x = xs[id] + random.nextInt(11) - 5;
+					y = ys[id] + random.nextInt(11) - 5;
+				}
+				grid.move(id, x, y);
+			}
+			xs[id] = x;
+			ys[id] = y;
+
+			int minX = random.nextInt(2400) - 1200;
+			int minY = random.nextInt(2400) - 1200;
+			//Small rectangles are answered from their cells, large ones from all occupied cells.
+			int size = random.nextInt(10) == 0 ? 3000 : random.nextInt(100);
+			IntArrayList result = new IntArrayList();
+			grid.query(minX, minY, minX + size, minY + size, result);
+			int[] found = result.toArray();
+			Arrays.sort(found);
+			IntArrayList expected = new IntArrayList();
+			for(int p = 0; p < present.length; p++)
+				if(present[p] && xs[p] >= minX && xs[p] <= minX + size && ys[p] >= minY && ys[p] <= minY + size)
+					expected.add(p);
+			assertEquals(Arrays.toString(expected.toArray()), Arrays.toString(found), "query after step " + i);
+			assertEquals(occupiedCells(xs, ys, present), grid.cellCount(), "cells after step " + i);
+		}
+	}
+
+	@Test
+	void cellsOfRemovedPointsAreDropped() {
+		SpatialGrid grid = new SpatialGrid(CELL);
+		for(int id = 0; id < 1000; id++)
+			grid.add(id, id * CELL, 0);
+		assertEquals(1000, grid.cellCount());
+		for(int id = 0; id < 1000; id++)
+			grid.move(id, 0, 0);
+		assertEquals(1, grid.cellCount());
+		for(int id = 0; id < 1000; id++)
+			grid.remove(id);
+		assertEquals(0, grid.cellCount());
+		assertEquals(0, grid.size());
+	}
+
+	private static int occupiedCells(int[] xs, int[] ys, boolean[] present) {
+		Set<Long> cells = new HashSet<>();
+		for(int p = 0; p < present.length; p++)
+			if(present[p])
+				cells.add(((long) Math.floorDiv(xs[p], CELL) << 32) | (Math.floorDiv(ys[p], CELL) & 0xffffffffL));
+		return cells.size();
+	}
+}